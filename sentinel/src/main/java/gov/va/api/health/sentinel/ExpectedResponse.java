@@ -1,6 +1,5 @@
 package gov.va.api.health.sentinel;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.va.api.health.autoconfig.configuration.JacksonConfig;
 import io.restassured.response.Response;
 import java.io.IOException;
@@ -33,11 +32,11 @@ public class ExpectedResponse {
 
   /**
    * Expect the body to be JSON represented by the given type, using the project standard {@link
-   * JacksonConfig} object mapper.
+   * JacksonConfig} shared object mapper.
    */
   private <T> T expect(Class<T> type) {
     try {
-      return JacksonConfig.createMapper().readValue(response().asByteArray(), type);
+      return JacksonConfig.readerFor(type).readValue(response().asByteArray());
     } catch (IOException e) {
       log();
       throw new AssertionError("Failed to parse JSON body", e);
@@ -46,14 +45,11 @@ public class ExpectedResponse {
 
   /**
    * Expect the body to be a JSON list represented by the given type, using the project standard
-   * {@link JacksonConfig} object mapper.
+   * {@link JacksonConfig} shared object mapper.
    */
   public <T> List<T> expectListOf(Class<T> type) {
     try {
-      ObjectMapper mapper = JacksonConfig.createMapper();
-      return mapper.readValue(
-          response().asByteArray(),
-          mapper.getTypeFactory().constructCollectionType(List.class, type));
+      return JacksonConfig.readerForListOf(type).readValue(response().asByteArray());
     } catch (IOException e) {
       log();
       throw new AssertionError("Failed to parse JSON body", e);
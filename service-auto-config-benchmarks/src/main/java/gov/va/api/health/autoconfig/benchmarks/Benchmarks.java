@@ -0,0 +1,43 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected with the usual JMH command line options. The GC profiler is always
+ * added so that allocation rates are reported with each result. Unless another result format or
+ * file is requested, results are also written as JSON to {@code jmh-result-<version>.json}, so that
+ * the results of different releases can be compared.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar MethodExecutionLogger -p depth=1,10
+ * </pre>
+ */
+public final class Benchmarks {
+  private Benchmarks() {}
+
+  /** Run the benchmarks, or print help or the benchmark list if requested. */
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions options = new CommandLineOptions(args);
+    if (options.shouldHelp() || options.shouldList() || options.shouldListProfilers()) {
+      Main.main(args);
+      return;
+    }
+    ChainedOptionsBuilder builder =
+        new OptionsBuilder().parent(options).addProfiler(GCProfiler.class);
+    if (!options.getResult().hasValue() && !options.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON).result("jmh-result-" + version() + ".json");
+    }
+    new Runner(builder.build()).run();
+  }
+
+  private static String version() {
+    String version = Benchmarks.class.getPackage().getImplementationVersion();
+    return version == null ? "dev" : version;
+  }
+}
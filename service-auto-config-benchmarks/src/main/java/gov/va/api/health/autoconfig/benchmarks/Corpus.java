@@ -0,0 +1,281 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+
+/**
+ * A search result bundle of FHIR-like patients, the kind of payload our services exchange. It has
+ * large lists, recursive extensions nested several levels deep, long narrative strings, some of
+ * which need trimming, and {@code Optional} and {@code java.time} fields. Immutable types are
+ * deserialized with their Lombok builders. The {@link Mutable} types have the same properties but
+ * are deserialized with their default constructors.
+ */
+public final class Corpus {
+  private static final String NARRATIVE =
+      "<div xmlns=\"http://www.w3.org/1999/xhtml\"><p>Patient record summary generated from the"
+          + " source system. Includes demographics, identifiers, contact details, and addresses"
+          + " on file as of the last update.</p></div>";
+
+  private Corpus() {}
+
+  /** Return a bundle of the given number of patients. The same size always has the same content. */
+  public static Bundle bundle(int entries) {
+    Random random = new Random(entries);
+    List<Entry> entry = new ArrayList<>(entries);
+    for (int i = 0; i < entries; i++) {
+      String id = String.format("10%08dV%06d", random.nextInt(100_000_000), i);
+      entry.add(
+          Entry.builder()
+              .fullUrl("https://api.va.gov/services/argonaut/v0/Patient/" + id)
+              .resource(patient(random, id))
+              .search(Search.builder().mode("match").build())
+              .build());
+    }
+    return Bundle.builder()
+        .resourceType("Bundle")
+        .id(" search-" + entries + " ")
+        .type("searchset")
+        .total(entries)
+        .lastUpdated(Instant.parse("2019-09-30T12:00:00Z"))
+        .entry(entry)
+        .build();
+  }
+
+  private static Extension extension(Random random, int depth) {
+    List<Extension> nested = new ArrayList<>();
+    if (depth > 1) {
+      nested.add(extension(random, depth - 1));
+      nested.add(extension(random, depth - 1));
+    }
+    return Extension.builder()
+        .url("http://hl7.org/fhir/us/core/StructureDefinition/us-core-ext-" + depth)
+        .valueString(depth > 1 ? null : "code-" + random.nextInt(1000))
+        .extension(nested.isEmpty() ? null : nested)
+        .build();
+  }
+
+  private static Patient patient(Random random, String id) {
+    return Patient.builder()
+        .resourceType("Patient")
+        .id(id)
+        .text(Narrative.builder().status("generated").div("  " + NARRATIVE + "\n  ").build())
+        .extension(List.of(extension(random, 4)))
+        .identifier(
+            List.of(
+                Identifier.builder()
+                    .system("http://va.gov/mvi")
+                    .value(id)
+                    .use(Optional.of("usual"))
+                    .build(),
+                Identifier.builder()
+                    .system("http://hl7.org/fhir/sid/us-ssn")
+                    .value(" 999-" + random.nextInt(100) + "-" + random.nextInt(10_000) + " ")
+                    .use(Optional.empty())
+                    .build()))
+        .name(
+            List.of(
+                HumanName.builder()
+                    .use("usual")
+                    .family("Cruickshank" + random.nextInt(100))
+                    .given(List.of(" Aurelio ", "M"))
+                    .build()))
+        .gender(random.nextBoolean() ? "male" : "female")
+        .birthDate(LocalDate.of(1930 + random.nextInt(70), 1 + random.nextInt(12), 1))
+        .deceasedDateTime(
+            random.nextInt(10) == 0
+                ? Optional.of(Instant.parse("2018-06-12T08:30:00Z"))
+                : Optional.empty())
+        .address(
+            List.of(
+                Address.builder()
+                    .line(List.of(random.nextInt(9999) + " Main St", "Apt " + random.nextInt(99)))
+                    .city("Anchorage ")
+                    .state("AK")
+                    .postalCode("99501")
+                    .build()))
+        .build();
+  }
+
+  @Value
+  @Builder
+  public static class Address {
+    List<String> line;
+    String city;
+    String state;
+    String postalCode;
+  }
+
+  @Value
+  @Builder
+  public static class Bundle {
+    String resourceType;
+    String id;
+    String type;
+    Integer total;
+    Instant lastUpdated;
+    List<Entry> entry;
+  }
+
+  @Value
+  @Builder
+  public static class Entry {
+    String fullUrl;
+    Patient resource;
+    Search search;
+  }
+
+  @Value
+  @Builder
+  public static class Extension {
+    String url;
+    String valueString;
+    List<Extension> extension;
+  }
+
+  @Value
+  @Builder
+  public static class HumanName {
+    String use;
+    String family;
+    List<String> given;
+  }
+
+  @Value
+  @Builder
+  public static class Identifier {
+    String system;
+    String value;
+    Optional<String> use;
+  }
+
+  @Value
+  @Builder
+  public static class Narrative {
+    String status;
+    String div;
+  }
+
+  @Value
+  @Builder
+  public static class Patient {
+    String resourceType;
+    String id;
+    Narrative text;
+    List<Extension> extension;
+    List<Identifier> identifier;
+    List<HumanName> name;
+    String gender;
+    LocalDate birthDate;
+    Optional<Instant> deceasedDateTime;
+    List<Address> address;
+  }
+
+  @Value
+  @Builder
+  public static class Search {
+    String mode;
+  }
+
+  /** The same types with default constructors, so that they are deserialized without builders. */
+  public static final class Mutable {
+    private Mutable() {}
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Address {
+      List<String> line;
+      String city;
+      String state;
+      String postalCode;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bundle {
+      String resourceType;
+      String id;
+      String type;
+      Integer total;
+      Instant lastUpdated;
+      List<Entry> entry;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+      String fullUrl;
+      Patient resource;
+      Search search;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Extension {
+      String url;
+      String valueString;
+      List<Extension> extension;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HumanName {
+      String use;
+      String family;
+      List<String> given;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Identifier {
+      String system;
+      String value;
+      Optional<String> use;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Narrative {
+      String status;
+      String div;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Patient {
+      String resourceType;
+      String id;
+      Narrative text;
+      List<Extension> extension;
+      List<Identifier> identifier;
+      List<HumanName> name;
+      String gender;
+      LocalDate birthDate;
+      Optional<Instant> deceasedDateTime;
+      List<Address> address;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Search {
+      String mode;
+    }
+  }
+}
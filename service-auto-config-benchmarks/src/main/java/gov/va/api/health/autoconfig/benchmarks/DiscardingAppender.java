@@ -0,0 +1,16 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import ch.qos.logback.core.OutputStreamAppender;
+import java.io.OutputStream;
+
+/**
+ * Encodes log events like a console or file appender would, but discards the output. Benchmarks
+ * include the cost of formatting messages without the noise of I/O.
+ */
+public class DiscardingAppender<E> extends OutputStreamAppender<E> {
+  @Override
+  public void start() {
+    setOutputStream(OutputStream.nullOutputStream());
+    super.start();
+  }
+}
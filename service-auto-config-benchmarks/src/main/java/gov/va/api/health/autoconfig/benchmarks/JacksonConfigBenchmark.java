@@ -0,0 +1,104 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.va.api.health.autoconfig.configuration.JacksonConfig;
+import gov.va.api.health.autoconfig.configuration.JacksonMapperProperties;
+import gov.va.api.health.autoconfig.configuration.JacksonMapperProperties.BufferPool;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the JacksonConfig mapper with Lombok value types that are deserialized through their
+ * builders and have their strings trimmed, with Jackson's thread-local buffer recycler or the
+ * shared buffer pool. Use {@code -t} to compare them with more threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonConfigBenchmark {
+  @Param({"THREAD_LOCAL", "SHARED"})
+  BufferPool bufferPool;
+
+  private ObjectMapper mapper;
+
+  private Patient patient;
+
+  private byte[] json;
+
+  @Benchmark
+  public Patient deserialize() throws IOException {
+    return mapper.readValue(json, Patient.class);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return mapper.writeValueAsBytes(patient);
+  }
+
+  /** Create the mapper and a sample patient. */
+  @Setup
+  public void setUp() throws IOException {
+    mapper =
+        new JacksonConfig(JacksonMapperProperties.builder().bufferPool(bufferPool).build())
+            .objectMapper();
+    patient =
+        Patient.builder()
+            .id(" 1017283180V801730 ")
+            .name("Mr. Aurelio Cruickshank ")
+            .birthDate(Instant.parse("1995-02-06T00:00:00Z"))
+            .active(true)
+            .addresses(
+                List.of(
+                    Address.builder()
+                        .line(" 66 Main St ")
+                        .city("Anchorage")
+                        .state("AK")
+                        .postalCode("99501")
+                        .build(),
+                    Address.builder()
+                        .line("1 Lake Rd")
+                        .city(" Boise")
+                        .state("ID")
+                        .postalCode("83702")
+                        .build()))
+            .build();
+    json = mapper.writeValueAsBytes(patient);
+  }
+
+  @Value
+  @Builder
+  public static class Address {
+    String line;
+    String city;
+    String state;
+    String postalCode;
+  }
+
+  @Value
+  @Builder
+  public static class Patient {
+    String id;
+    String name;
+    Instant birthDate;
+    boolean active;
+    List<Address> addresses;
+  }
+}
@@ -0,0 +1,100 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import gov.va.api.health.autoconfig.configuration.JacksonConfig;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what each feature of the JacksonConfig mapper costs on the {@link Corpus}, by turning
+ * one feature off at a time and comparing with the complete mapper. Deserialization is measured
+ * into the builder-based corpus types and into their {@link Corpus.Mutable} twins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperFeatureBenchmark {
+  @Param({"all", "noStringTrim", "noFailOnUnknown", "noNonNull"})
+  String mapper;
+
+  @Param({"10", "100"})
+  int entries;
+
+  private ObjectMapper objectMapper;
+
+  private Corpus.Bundle bundle;
+
+  private byte[] json;
+
+  /** Return a JacksonConfig mapper without its string trimming. */
+  static ObjectMapper untrimmed(ObjectMapper mapper) {
+    return mapper.registerModule(
+        new SimpleModule("Untrimmed")
+            .addSerializer(String.class, new StringSerializer())
+            .addDeserializer(String.class, StringDeserializer.instance));
+  }
+
+  @Benchmark
+  public Object read(Target target) throws IOException {
+    return objectMapper.readValue(json, target.type);
+  }
+
+  /** Create the mapper and corpus. The JSON keeps the padding of the corpus strings. */
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = JacksonConfig.createMapper();
+    switch (mapper) {
+      case "noStringTrim":
+        untrimmed(objectMapper);
+        break;
+      case "noFailOnUnknown":
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        break;
+      case "noNonNull":
+        objectMapper.setSerializationInclusion(Include.ALWAYS);
+        break;
+      default:
+        break;
+    }
+    bundle = Corpus.bundle(entries);
+    json = untrimmed(JacksonConfig.createMapper()).writeValueAsBytes(bundle);
+  }
+
+  @Benchmark
+  public byte[] write() throws IOException {
+    return objectMapper.writeValueAsBytes(bundle);
+  }
+
+  /** The type to read, only a parameter of the read benchmark. */
+  @State(Scope.Benchmark)
+  public static class Target {
+    @Param({"builder", "setter"})
+    String deserialization;
+
+    private Class<?> type;
+
+    @Setup
+    public void setUp() {
+      type = "builder".equals(deserialization) ? Corpus.Bundle.class : Corpus.Mutable.Bundle.class;
+    }
+  }
+}
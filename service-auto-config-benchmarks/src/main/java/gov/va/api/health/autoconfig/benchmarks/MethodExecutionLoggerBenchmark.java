@@ -0,0 +1,93 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import gov.va.api.health.autoconfig.logging.ArgumentRenderer;
+import gov.va.api.health.autoconfig.logging.Loggable;
+import gov.va.api.health.autoconfig.logging.LoggableAspect;
+import gov.va.api.health.autoconfig.logging.LoggableProperties;
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Measures a chain of nested loggable calls, with and without the loggable aspect applied by Spring
+ * AOP proxies, and with INFO logging enabled or disabled for the loggable class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodExecutionLoggerBenchmark {
+  @Param({"true", "false"})
+  boolean advised;
+
+  @Param({"true", "false"})
+  boolean info;
+
+  @Param({"1", "5", "10"})
+  int depth;
+
+  private Nested top;
+
+  private static Nested proxy(Nested target, LoggableAspect aspect) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(aspect);
+    return factory.getProxy();
+  }
+
+  @Benchmark
+  public int log() {
+    return top.call(1);
+  }
+
+  /** Build a chain of depth loggable objects, each calling the next. */
+  @Setup
+  public void setUp() {
+    ((Logger) LoggerFactory.getLogger(Nested.class)).setLevel(info ? Level.INFO : Level.WARN);
+    LoggableProperties properties = new LoggableProperties();
+    LoggableAspect aspect =
+        LoggableAspect.bind(
+            new MethodExecutionLogger(
+                properties, new ArgumentRenderer(properties), Optional.empty(), Optional.empty()));
+    Nested next = null;
+    for (int i = 0; i < depth; i++) {
+      Nested nested = new Nested(next);
+      next = advised ? proxy(nested, aspect) : nested;
+    }
+    top = next;
+  }
+
+  @Loggable
+  public static class Nested {
+    private final Nested next;
+
+    Nested() {
+      this(null);
+    }
+
+    Nested(Nested next) {
+      this.next = next;
+    }
+
+    public int call(int value) {
+      return next == null ? value : next.call(value + 1);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import gov.va.api.health.autoconfig.configuration.BinaryTransportProperties;
+import gov.va.api.health.autoconfig.configuration.HttpClientProperties;
+import gov.va.api.health.autoconfig.configuration.SecureRestTemplateConfig;
+import gov.va.api.health.autoconfig.configuration.SslClientProperties;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Measures requests made by the SecureRestTemplateConfig rest template, including its request
+ * factory and interceptors, against a stub server on the loopback interface. Responses of one or a
+ * thousand patients are buffered or streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecureRestTemplateBenchmark {
+  private static final String PATIENT =
+      "{\"id\":\"1017283180V801730\",\"name\":\"Mr. Aurelio Cruickshank\"}";
+
+  @Param({"1", "1000"})
+  int patients;
+
+  @Param({"false", "true"})
+  boolean streamResponses;
+
+  private byte[] body;
+
+  private ExecutorService serverThreads;
+
+  private HttpServer server;
+
+  private RestTemplate restTemplate;
+
+  private String url;
+
+  @Benchmark
+  public String get() {
+    return restTemplate.getForObject(url, String.class);
+  }
+
+  /** Start the stub server and create the rest template. */
+  @Setup
+  public void setUp() throws IOException {
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    body =
+        ("[" + String.join(",", Collections.nCopies(patients, PATIENT)) + "]")
+            .getBytes(StandardCharsets.UTF_8);
+    serverThreads = Executors.newFixedThreadPool(4);
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/patient",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.setExecutor(serverThreads);
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + "/patient";
+    restTemplate =
+        new SecureRestTemplateConfig(
+                SslClientProperties.builder().enableClient(false).build(),
+                HttpClientProperties.builder().streamResponses(streamResponses).build(),
+                new BinaryTransportProperties())
+            .restTemplate(new RestTemplateBuilder());
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.stop(0);
+    serverThreads.shutdownNow();
+  }
+}
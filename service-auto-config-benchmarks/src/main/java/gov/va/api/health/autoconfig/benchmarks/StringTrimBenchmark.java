@@ -0,0 +1,120 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import gov.va.api.health.autoconfig.configuration.JacksonConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Builder;
+import lombok.SneakyThrows;
+import lombok.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JacksonConfig string trimming with the original implementation, which trimmed every
+ * string after it was created, on 100 codings whose strings are either already trimmed or padded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringTrimBenchmark {
+  @Param({"current", "original"})
+  String trimming;
+
+  @Param({"false", "true"})
+  boolean padded;
+
+  private ObjectMapper mapper;
+
+  private Coding[] codings;
+
+  private byte[] json;
+
+  @Benchmark
+  public Coding[] read() throws IOException {
+    return mapper.readValue(json, Coding[].class);
+  }
+
+  /** Create the mapper and codings. */
+  @Setup
+  public void setUp() throws IOException {
+    mapper = JacksonConfig.createMapper();
+    if ("original".equals(trimming)) {
+      mapper.registerModule(new OriginalStringTrimModule());
+    }
+    String pad = padded ? " " : "";
+    List<Coding> values = new ArrayList<>();
+    StringBuilder text = new StringBuilder("[");
+    for (int i = 0; i < 100; i++) {
+      String system = pad + "urn:oid:2.16.840.1.113883.6." + i + pad;
+      String code = pad + "C" + i + pad;
+      values.add(Coding.builder().system(system).code(code).build());
+      text.append(i == 0 ? "" : ",");
+      text.append("{\"system\":\"").append(system).append("\",\"code\":\"").append(code);
+      text.append("\"}");
+    }
+    codings = values.toArray(new Coding[0]);
+    json = text.append(']').toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] write() throws IOException {
+    return mapper.writeValueAsBytes(codings);
+  }
+
+  @Value
+  @Builder
+  public static class Coding {
+    String system;
+
+    String code;
+  }
+
+  /** The trimming module as it was before reading from the parser's buffer. */
+  private static class OriginalStringTrimModule extends SimpleModule {
+    OriginalStringTrimModule() {
+      addSerializer(
+          String.class,
+          new StdScalarSerializer<String>(String.class, false) {
+            @Override
+            @SneakyThrows
+            public void serialize(String value, JsonGenerator gen, SerializerProvider provider) {
+              gen.writeString(trimToNull(value));
+            }
+          });
+      addDeserializer(
+          String.class,
+          new StdScalarDeserializer<String>(String.class) {
+            @Override
+            @SneakyThrows
+            public String deserialize(JsonParser p, DeserializationContext ctxt) {
+              return trimToNull(p.getValueAsString());
+            }
+          });
+    }
+  }
+}
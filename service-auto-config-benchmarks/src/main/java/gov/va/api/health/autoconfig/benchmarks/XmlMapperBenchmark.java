@@ -0,0 +1,85 @@
+package gov.va.api.health.autoconfig.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import gov.va.api.health.autoconfig.benchmarks.JacksonConfigBenchmark.Address;
+import gov.va.api.health.autoconfig.benchmarks.JacksonConfigBenchmark.Patient;
+import gov.va.api.health.autoconfig.configuration.JacksonConfig;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JacksonConfig XML mapper preset with the same mapper on a default XmlFactory, which
+ * uses the first StAX implementation found with default settings. The previous way of getting an
+ * XML mapper, {@code JacksonConfig.createMapper(new XmlFactory())}, cannot write root elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlMapperBenchmark {
+  @Param({"preset", "factory"})
+  String mapping;
+
+  private ObjectMapper mapper;
+
+  private Patient patient;
+
+  private byte[] xml;
+
+  @Benchmark
+  public Patient deserialize() throws IOException {
+    return mapper.readValue(xml, Patient.class);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return mapper.writeValueAsBytes(patient);
+  }
+
+  /** Create the mapper and a sample patient. */
+  @Setup
+  public void setUp() throws IOException {
+    mapper =
+        "preset".equals(mapping)
+            ? JacksonConfig.createXmlMapper()
+            : JacksonConfig.createXmlMapper(new XmlFactory());
+    patient =
+        Patient.builder()
+            .id(" 1017283180V801730 ")
+            .name("Mr. Aurelio Cruickshank ")
+            .birthDate(Instant.parse("1995-02-06T00:00:00Z"))
+            .active(true)
+            .addresses(
+                List.of(
+                    Address.builder()
+                        .line(" 66 Main St ")
+                        .city("Anchorage")
+                        .state("AK")
+                        .postalCode("99501")
+                        .build(),
+                    Address.builder()
+                        .line("1 Lake Rd")
+                        .city(" Boise")
+                        .state("ID")
+                        .postalCode("83702")
+                        .build()))
+            .build();
+    xml = mapper.writeValueAsBytes(patient);
+  }
+}
@@ -1,12 +1,36 @@
 package gov.va.api.health.autoconfig.configuration;
 
+import gov.va.api.health.autoconfig.logging.LoggableAspect;
+import gov.va.api.health.autoconfig.logging.LoggableTaskDecorator;
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger;
 import org.springframework.beans.factory.annotation.Configurable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.task.TaskDecorator;
 
 @Configurable
 @ComponentScan(basePackages = "gov.va.api.health.autoconfig.logging")
 public class AutoLoggableConfiguration {
   /*
-   * Empty to allow for autodiscovery of Loggable components
+   * Loggable components are autodiscovered. The aspect may be woven by AspectJ, in which case its
+   * instance is not created by Spring.
    */
+
+  /** The aspect that applies the logger to loggable methods, woven or with proxies. */
+  @Bean
+  public LoggableAspect loggableAspect(MethodExecutionLogger logger) {
+    return LoggableAspect.bind(logger);
+  }
+
+  /**
+   * The decorator that continues logging chains in tasks run by the auto-configured task executor.
+   * Applications that define their own decorator can create this one from the logger to combine
+   * them.
+   */
+  @Bean
+  @ConditionalOnMissingBean(TaskDecorator.class)
+  public LoggableTaskDecorator loggableTaskDecorator(MethodExecutionLogger logger) {
+    return new LoggableTaskDecorator(logger);
+  }
 }
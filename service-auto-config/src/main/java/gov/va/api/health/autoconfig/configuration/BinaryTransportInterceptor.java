@@ -0,0 +1,68 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Asks internal hosts for responses in a binary format. The binary media type is moved to the front
+ * of the Accept header and the other types are given a lower quality, so that servers that do not
+ * support it still respond with JSON. The Accept header is only changed if it already includes the
+ * binary type, i.e. if the rest template can read the response in that format. Request bodies are
+ * not changed. Host names are compared ignoring case.
+ */
+final class BinaryTransportInterceptor implements ClientHttpRequestInterceptor {
+  private static final String FALLBACK_QUALITY = "0.9";
+
+  private final MediaType binary;
+
+  private final Set<String> hosts;
+
+  BinaryTransportInterceptor(MediaType binary, Collection<String> hosts) {
+    this.binary = binary;
+    this.hosts =
+        hosts.stream().map(BinaryTransportInterceptor::lowerCase).collect(Collectors.toSet());
+  }
+
+  private static String lowerCase(String host) {
+    return host == null ? null : host.toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    if (hosts.contains(lowerCase(request.getURI().getHost()))) {
+      preferBinary(request.getHeaders());
+    }
+    return execution.execute(request, body);
+  }
+
+  private void preferBinary(HttpHeaders headers) {
+    List<MediaType> accept = headers.getAccept();
+    if (!accept.contains(binary)) {
+      return;
+    }
+    List<MediaType> preferred = new ArrayList<>(accept.size());
+    preferred.add(binary);
+    for (MediaType type : accept) {
+      if (!type.equals(binary)) {
+        Map<String, String> parameters = new LinkedHashMap<>(type.getParameters());
+        parameters.put("q", FALLBACK_QUALITY);
+        preferred.add(new MediaType(type, parameters));
+      }
+    }
+    headers.setAccept(preferred);
+  }
+}
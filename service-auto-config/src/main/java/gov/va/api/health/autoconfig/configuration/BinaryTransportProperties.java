@@ -0,0 +1,55 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+
+/**
+ * Application properties for binary Jackson formats between internal services. Rest templates from
+ * {@link SecureRestTemplateConfig} ask the listed hosts for responses in the binary format. Other
+ * hosts are asked for JSON as before.
+ *
+ * <pre>
+ * binary-transport.format=SMILE
+ * binary-transport.hosts=argonaut-data-query,mranderson
+ * </pre>
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("binary-transport")
+@Data
+@Accessors(fluent = false)
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class BinaryTransportProperties {
+
+  @Builder.Default private Format format = Format.SMILE;
+  @Builder.Default private List<String> hosts = new ArrayList<>();
+
+  /** The binary formats supported by {@link JacksonConfig}. */
+  public enum Format {
+    /** Jackson Smile, {@code application/x-jackson-smile}. */
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    /** CBOR, {@code application/cbor}. */
+    CBOR(new MediaType("application", "cbor"));
+
+    private final MediaType mediaType;
+
+    Format(MediaType mediaType) {
+      this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+      return mediaType;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import lombok.SneakyThrows;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * A response whose first bytes have been read so that they can be logged. The body still returns
+ * every byte, the captured ones followed by the rest of the original stream, so error handlers and
+ * message converters see the complete response. At most {@code limit} bytes are held in memory
+ * regardless of the size of the response.
+ */
+final class CapturedResponse implements ClientHttpResponse {
+  private final ClientHttpResponse response;
+
+  private final byte[] captured;
+
+  private final int length;
+
+  private final int limit;
+
+  private final InputStream body;
+
+  private CapturedResponse(
+      ClientHttpResponse response, byte[] captured, int length, int limit, InputStream rest) {
+    this.response = response;
+    this.captured = captured;
+    this.length = length;
+    this.limit = limit;
+    this.body = new SequenceInputStream(new ByteArrayInputStream(captured, 0, length), rest);
+  }
+
+  /**
+   * Read up to limit bytes of the response body. One more byte is read, if available, to determine
+   * whether the body was truncated.
+   */
+  static CapturedResponse capture(ClientHttpResponse response, int limit) throws IOException {
+    long contentLength = response.getHeaders().getContentLength();
+    int size = contentLength < 0 ? limit + 1 : (int) Math.min(contentLength, limit) + 1;
+    byte[] captured = new byte[size];
+    InputStream rest = response.getBody();
+    int length = 0;
+    while (length < size) {
+      int count = rest.read(captured, length, size - length);
+      if (count < 0) {
+        break;
+      }
+      length += count;
+    }
+    return new CapturedResponse(response, captured, length, limit, rest);
+  }
+
+  /**
+   * Decode the first limit bytes as UTF-8 followed by an ellipsis. The limit is a byte count, so a
+   * multibyte character cut by it is left out rather than decoded as a replacement character.
+   */
+  @SneakyThrows
+  static String truncatedText(byte[] bytes, int limit) {
+    return StandardCharsets.UTF_8
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.IGNORE)
+            .onUnmappableCharacter(CodingErrorAction.IGNORE)
+            .decode(ByteBuffer.wrap(bytes, 0, limit))
+        + "...";
+  }
+
+  /** The captured bytes as UTF-8 text, ending with an ellipsis if the body is longer. */
+  String bodyText() {
+    if (length > limit) {
+      return truncatedText(captured, limit);
+    }
+    return new String(captured, 0, length, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() {
+    response.close();
+  }
+
+  @Override
+  public InputStream getBody() {
+    return body;
+  }
+
+  @Override
+  public HttpHeaders getHeaders() {
+    return response.getHeaders();
+  }
+
+  @Override
+  public int getRawStatusCode() throws IOException {
+    return response.getRawStatusCode();
+  }
+
+  @Override
+  public HttpStatus getStatusCode() throws IOException {
+    return response.getStatusCode();
+  }
+
+  @Override
+  public String getStatusText() throws IOException {
+    return response.getStatusText();
+  }
+}
@@ -0,0 +1,69 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Application properties for the connection pool and timeouts of rest templates created by {@link
+ * SecureRestTemplateConfig}. Connections are leased from a pool limited per route (scheme, host,
+ * and port) and in total. A request waits up to the lease timeout for a connection when the pool is
+ * exhausted. Connections idle for longer than the validation interval are checked before they are
+ * reused. Idle connections, and connections older than their time to live, are closed in the
+ * background. Connect and socket timeouts of zero wait indefinitely, as clients did before they
+ * were configurable.
+ *
+ * <p>Response bodies are buffered in memory before they are converted, unless streaming is enabled.
+ * Streamed responses are read by the message converters directly from the connection.
+ *
+ * <p>Each call is logged as a single line, at the sample rate unless it is slow or fails. Failed
+ * calls are also captured, with only the first bytes of their request and response bodies, in a
+ * bounded in-memory ring that is read with the {@link OutboundFailures} actuator endpoint.
+ *
+ * <pre>
+ * http-client.max-connections-per-route=20
+ * http-client.max-connections=100
+ * http-client.connect-timeout=10s
+ * http-client.socket-timeout=60s
+ * http-client.lease-timeout=10s
+ * http-client.validate-after-inactivity=2s
+ * http-client.max-idle-time=60s
+ * http-client.time-to-live=10m
+ * http-client.stream-responses=true
+ * http-client.log-sample-rate=0.1
+ * http-client.log-slow-threshold=1s
+ * http-client.failure-capture-capacity=100
+ * http-client.error-body-capture-size=8KB
+ * </pre>
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("http-client")
+@Data
+@Accessors(fluent = false)
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class HttpClientProperties {
+
+  @Builder.Default private int maxConnectionsPerRoute = 20;
+  @Builder.Default private int maxConnections = 100;
+  @Builder.Default private Duration connectTimeout = Duration.ZERO;
+  @Builder.Default private Duration socketTimeout = Duration.ZERO;
+  @Builder.Default private Duration leaseTimeout = Duration.ofSeconds(10);
+  @Builder.Default private Duration validateAfterInactivity = Duration.ofSeconds(2);
+  @Builder.Default private Duration maxIdleTime = Duration.ofSeconds(60);
+  @Builder.Default private Duration timeToLive = Duration.ofMinutes(10);
+  private boolean streamResponses;
+  @Builder.Default private double logSampleRate = 1.0;
+  @Builder.Default private Duration logSlowThreshold = Duration.ofSeconds(1);
+  @Builder.Default private int failureCaptureCapacity = 100;
+  @Builder.Default private DataSize errorBodyCaptureSize = DataSize.ofKilobytes(8);
+}
@@ -2,16 +2,23 @@ package gov.va.api.health.autoconfig.configuration;
 
 import static org.apache.commons.lang3.StringUtils.trimToNull;
 
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
@@ -20,12 +27,34 @@ import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.xml.JacksonXmlAnnotationIntrospector;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import gov.va.api.health.autoconfig.configuration.JacksonMapperProperties.BufferPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import javax.xml.stream.XMLInputFactory;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 
 /**
  * Look for a deserialize annotation using the builder for immutable data types. This configuration
@@ -37,6 +66,8 @@ import org.springframework.context.annotation.Configuration;
  *   <li>Java time support, e.g. Instant
  *   <li>Fails on unknown properties
  *   <li>Lombok &#64;Value &#64;Builder with out needing to specify Jackson annotations
+ *   <li>Optionally, generated bytecode instead of reflection to access properties, see {@link
+ *       JacksonMapperProperties}
  * </ul>
  *
  * Note: The builder will only be used of your class does not have a default constructor.
@@ -69,7 +100,25 @@ import org.springframework.context.annotation.Configuration;
  * </pre>
  */
 @Configuration
+@Slf4j
 public class JacksonConfig {
+  private final JacksonMapperProperties properties;
+
+  /** Create a configuration with options from system properties. */
+  public JacksonConfig() {
+    this(JacksonMapperProperties.fromSystemProperties());
+  }
+
+  /**
+   * Create a configuration with the given options. Builder packages are scanned here, once, rather
+   * than for each mapper that is created.
+   */
+  @Autowired
+  public JacksonConfig(JacksonMapperProperties properties) {
+    this.properties = properties;
+    LombokBuilders.scan(properties.getBuilderPackages());
+  }
+
   /** Return a configured Jackson ObjectMapper. This method is useful as a supplier function. */
   public static ObjectMapper createMapper() {
     return new JacksonConfig().objectMapper();
@@ -77,14 +126,103 @@ public class JacksonConfig {
 
   /**
    * Return a configured Jackson ObjectMapper that uses the given factory. Use this method to create
-   * a Yaml mapper. This method is useful as a supplier function.
+   * a Yaml, Smile, or CBOR mapper. This method is useful as a supplier function.
    */
   public static ObjectMapper createMapper(JsonFactory jsonFactory) {
     return new JacksonConfig().configureMapper(new ObjectMapper(jsonFactory));
   }
 
+  /**
+   * Return an XML mapper configured like {@link #createMapper()}, with the Jackson XML annotations
+   * also supported. It uses Woodstox configured for speed, with pre-sized input buffers and without
+   * validation of written output.
+   */
+  public static XmlMapper createXmlMapper() {
+    return createXmlMapper(xmlFactory());
+  }
+
+  /**
+   * Return an XML mapper configured like {@link #createMapper()} that uses the given factory.
+   * Unlike {@code createMapper(new XmlFactory())}, the mapper supports XML specific serialization,
+   * e.g. of root elements and the Jackson XML annotations.
+   */
+  public static XmlMapper createXmlMapper(XmlFactory xmlFactory) {
+    return new JacksonConfig().xmlMapper(xmlFactory);
+  }
+
+  /**
+   * Return the reader for the type from the shared mapper. Readers are created once per type and
+   * are thread-safe.
+   */
+  public static ObjectReader readerFor(Class<?> type) {
+    return SharedMapper.readerFor(type);
+  }
+
+  /** Return the reader for the type, e.g. a collection type, from the shared mapper. */
+  public static ObjectReader readerFor(JavaType type) {
+    return SharedMapper.readerFor(type);
+  }
+
+  /** Return the reader for a list of the type from the shared mapper. */
+  public static ObjectReader readerForListOf(Class<?> type) {
+    return SharedMapper.readerForListOf(type);
+  }
+
+  /**
+   * Return the mapper shared by this JVM, configured as described in the class-level documentation.
+   * Unlike {@link #createMapper()}, this reuses the serializers and deserializers that have already
+   * been resolved. The shared mapper must not be reconfigured. Use {@link #createMapper()} for a
+   * mapper that will be customized.
+   */
+  public static ObjectMapper sharedMapper() {
+    return SharedMapper.mapper();
+  }
+
+  /**
+   * Return the writer for the type from the shared mapper. Writers are created once per type and
+   * are thread-safe.
+   */
+  public static ObjectWriter writerFor(Class<?> type) {
+    return SharedMapper.writerFor(type);
+  }
+
+  /**
+   * Woodstox, configured for speed, instead of whichever StAX implementation is found first. Input
+   * buffers are pre-sized to 8000 characters, and written output is not validated, since Jackson
+   * writes well-formed XML. DTDs and external entities are not supported, as with Jackson's default
+   * factories.
+   */
+  private static XmlFactory xmlFactory() {
+    WstxInputFactory input = new WstxInputFactory();
+    input.configureForSpeed();
+    input.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    input.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    WstxOutputFactory output = new WstxOutputFactory();
+    output.configureForSpeed();
+    return new XmlFactory(input, output);
+  }
+
+  /**
+   * Read and write CBOR, {@code application/cbor}, with a mapper configured like the JSON mapper.
+   * Spring would otherwise register a CBOR converter with a default mapper. JSON converters are
+   * registered first, so JSON is used unless a client asks for CBOR.
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+    return new MappingJackson2CborHttpMessageConverter(
+        configureMapper(new ObjectMapper(new CBORFactory())));
+  }
+
   /** Configure the given mapper as described in the class-level documentation. */
   private ObjectMapper configureMapper(ObjectMapper mapper) {
+    if (properties.isAfterburnerEnabled() && AfterburnerSupport.ACCESSORS_DEFINABLE) {
+      /*
+       * Afterburner replaces reflection with generated bytecode for getters, setters, and
+       * constructors, as well as fields that are not private. Private fields are left to
+       * reflection. Properties with custom (de)serializers, e.g. trimmed strings, are not changed.
+       */
+      mapper.registerModule(new AfterburnerModule());
+    }
     return mapper
         .registerModule(new Jdk8Module())
         .registerModule(new JavaTimeModule())
@@ -97,6 +235,42 @@ public class JacksonConfig {
         .setVisibility(PropertyAccessor.ALL, Visibility.ANY);
   }
 
+  /**
+   * Report hits and misses of the shared buffer pool. This is enabled with the property {@code
+   * jackson.buffer-pool=shared}.
+   */
+  @Bean
+  @ConditionalOnProperty(name = "jackson.buffer-pool", havingValue = "shared")
+  public MeterBinder jacksonBufferPoolMetrics() {
+    return PooledBufferRecycler.shared(properties.getBufferPoolCapacity());
+  }
+
+  /**
+   * Resolve serializers and deserializers of application types at startup, using the mapper bean.
+   * This is enabled with the property {@code jackson.warm-up-enabled=true}.
+   */
+  @Bean
+  @ConditionalOnProperty(name = "jackson.warm-up-enabled", havingValue = "true")
+  public JacksonWarmUp jacksonWarmUp(
+      ObjectMapper objectMapper, BeanFactory beanFactory, ObjectProvider<MeterRegistry> registry) {
+    List<String> applicationPackages =
+        AutoConfigurationPackages.has(beanFactory)
+            ? AutoConfigurationPackages.get(beanFactory)
+            : List.of();
+    return new JacksonWarmUp(
+        objectMapper,
+        properties.getWarmUpPackages(),
+        applicationPackages,
+        Optional.ofNullable(registry.getIfAvailable()));
+  }
+
+  private JsonFactory jsonFactory() {
+    if (properties.getBufferPool() == BufferPool.SHARED) {
+      return new PooledJsonFactory(PooledBufferRecycler.shared(properties.getBufferPoolCapacity()));
+    }
+    return new JsonFactory();
+  }
+
   /**
    * Return a ready to use mapper that will work with classes adhering to the conventions described
    * in the class-level documentation.
@@ -104,7 +278,77 @@ public class JacksonConfig {
   @Bean
   @ConditionalOnMissingBean
   public ObjectMapper objectMapper() {
-    return configureMapper(new ObjectMapper());
+    return configureMapper(new ObjectMapper(jsonFactory()));
+  }
+
+  /**
+   * Read and write Smile, {@code application/x-jackson-smile}, with a mapper configured like the
+   * JSON mapper. JSON is used unless a client asks for Smile.
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+    return new MappingJackson2SmileHttpMessageConverter(
+        configureMapper(new ObjectMapper(new SmileFactory())));
+  }
+
+  /**
+   * Write {@link StreamingBody} responses one entry at a time, with the mapper bean, instead of
+   * serializing the whole response at once.
+   */
+  @Bean
+  public StreamingJsonHttpMessageConverter streamingJsonHttpMessageConverter(
+      ObjectMapper objectMapper) {
+    return new StreamingJsonHttpMessageConverter(objectMapper);
+  }
+
+  /**
+   * Read and write XML with a mapper configured like the JSON mapper, instead of Spring's default
+   * XML mapper. JSON is used unless a client asks for XML. This changes the XML that clients
+   * receive, e.g. blank strings and nulls are omitted, so it is enabled with the property {@code
+   * jackson.xml-converter-enabled=true}.
+   */
+  @Bean
+  @ConditionalOnProperty(name = "jackson.xml-converter-enabled", havingValue = "true")
+  public MappingJackson2XmlHttpMessageConverter xmlHttpMessageConverter() {
+    return new MappingJackson2XmlHttpMessageConverter(xmlMapper(xmlFactory()));
+  }
+
+  private XmlMapper xmlMapper(XmlFactory xmlFactory) {
+    XmlMapper mapper = new XmlMapper(xmlFactory);
+    configureMapper(mapper);
+    mapper.setAnnotationIntrospector(
+        AnnotationIntrospector.pair(
+            new LombokAnnotationIntrospector(), new JacksonXmlAnnotationIntrospector()));
+    return mapper;
+  }
+
+  /**
+   * Whether Afterburner can be used is determined once, the first time it is enabled, so the
+   * warning is only logged once however many mappers are created.
+   */
+  private static final class AfterburnerSupport {
+    static final boolean ACCESSORS_DEFINABLE = canDefineAccessors();
+
+    /**
+     * Afterburner accessors must be defined in the class loader of the types they access to reach
+     * package-private members, such as Lombok builder constructors. Otherwise, they fail at
+     * runtime. On Java 16 and later, this requires {@code --add-opens
+     * java.base/java.lang=ALL-UNNAMED}.
+     */
+    private static boolean canDefineAccessors() {
+      try {
+        if (ClassLoader.class
+            .getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class)
+            .trySetAccessible()) {
+          return true;
+        }
+      } catch (NoSuchMethodException | SecurityException e) {
+        /* Treated as inaccessible below. */
+      }
+      log.warn(
+          "Afterburner is disabled. Add JVM option --add-opens java.base/java.lang=ALL-UNNAMED");
+      return false;
+    }
   }
 
   /**
@@ -112,8 +356,8 @@ public class JacksonConfig {
    * This allows @Value classes with @Builders to be automatically supported for deserialization. It
    * will look for a builder class using the standard Lombok naming conventions and assume builder
    * methods do not have a prefix, e.g. "property" instead of "setProperty" or "withProperty".
-   * However, you can still use @JsonPOJOBuilder if you need to override this inspectors default
-   * behavior.
+   * Builders are resolved once per type by {@link LombokBuilders}. However, you can still
+   * use @JsonPOJOBuilder if you need to override this inspectors default behavior.
    */
   private static class LombokAnnotationIntrospector extends JacksonAnnotationIntrospector {
 
@@ -127,17 +371,7 @@ public class JacksonConfig {
       if (pojoBuilder != null) {
         return pojoBuilder;
       }
-      if (hasDefaultConstructor(ac.getAnnotated())) {
-        return null;
-      }
-      String className = ac.getAnnotated().getSimpleName();
-      String lombokBuilder = ac.getAnnotated().getName() + "$" + className + "Builder";
-      try {
-        return Class.forName(lombokBuilder);
-      } catch (ClassNotFoundException e) {
-        /* Default lombok builder does not exist. */
-      }
-      return null;
+      return LombokBuilders.builderFor(ac.getAnnotated());
     }
 
     @Override
@@ -147,17 +381,16 @@ public class JacksonConfig {
       }
       return new JsonPOJOBuilder.Value("build", "");
     }
-
-    private boolean hasDefaultConstructor(Class<?> ac) {
-      try {
-        return ac.getDeclaredConstructor() != null;
-      } catch (NoSuchMethodException e) {
-        return false;
-      }
-    }
   }
 
-  /** A module that adds a whitespace trimming String serializer. */
+  /**
+   * A module that adds whitespace trimming String serializers. Blank strings are treated as null.
+   * Whitespace is anything trimmed by {@link String#trim()}. Strings that do not need trimming are
+   * written as is. When reading property values, whitespace is found in the parser's buffer, so
+   * padded values create only the trimmed string. Array elements are read as strings, because
+   * string arrays and collections are read with {@link JsonParser#nextTextValue()}, which has
+   * already created the string.
+   */
   private static class StringTrimModule extends SimpleModule {
     StringTrimModule() {
       addSerializer(
@@ -166,7 +399,11 @@ public class JacksonConfig {
             @Override
             @SneakyThrows
             public void serialize(String value, JsonGenerator gen, SerializerProvider provider) {
-              gen.writeString(trimToNull(value));
+              if (isTrimmed(value)) {
+                gen.writeString(value);
+              } else {
+                gen.writeString(trimToNull(value));
+              }
             }
           });
       addDeserializer(
@@ -175,9 +412,42 @@ public class JacksonConfig {
             @Override
             @SneakyThrows
             public String deserialize(JsonParser p, DeserializationContext ctxt) {
+              if (p.hasToken(JsonToken.VALUE_STRING) && !p.getParsingContext().inArray()) {
+                return trimmedText(p);
+              }
               return trimToNull(p.getValueAsString());
             }
           });
     }
+
+    private static boolean isTrimmed(String value) {
+      int length = value.length();
+      return length > 0 && value.charAt(0) > ' ' && value.charAt(length - 1) > ' ';
+    }
+
+    /**
+     * Return the current text of the parser without surrounding whitespace. The text is inspected
+     * in the parser's buffer. Text without surrounding whitespace is returned as the parser's
+     * string. Otherwise, only the trimmed string is created.
+     */
+    private static String trimmedText(JsonParser p) throws IOException {
+      char[] text = p.getTextCharacters();
+      int offset = p.getTextOffset();
+      int start = offset;
+      int end = offset + p.getTextLength();
+      while (start < end && text[start] <= ' ') {
+        start++;
+      }
+      while (end > start && text[end - 1] <= ' ') {
+        end--;
+      }
+      if (start == end) {
+        return null;
+      }
+      if (start == offset && end == offset + p.getTextLength()) {
+        return p.getText();
+      }
+      return new String(text, start, end - start);
+    }
   }
 }
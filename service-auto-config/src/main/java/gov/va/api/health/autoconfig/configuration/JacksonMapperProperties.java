@@ -0,0 +1,84 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application properties for mappers created by {@link JacksonConfig}. Mappers created with the
+ * static {@code JacksonConfig.createMapper} factories, e.g. outside of Spring, use the system
+ * properties of the same name. Warm-up only applies to the Spring mapper, see {@link
+ * JacksonWarmUp}, and the XML converter only to Spring applications.
+ *
+ * <pre>
+ * jackson.afterburner-enabled=true
+ * jackson.builder-packages=gov.va.api.health.dstu2.api,gov.va.api.health.argonaut.api
+ * jackson.buffer-pool=SHARED
+ * jackson.buffer-pool-capacity=64
+ * jackson.warm-up-enabled=true
+ * jackson.warm-up-packages=gov.va.api.health.argonaut.api.resources
+ * jackson.xml-converter-enabled=true
+ * </pre>
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("jackson")
+@Data
+@Accessors(fluent = false)
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class JacksonMapperProperties {
+
+  private boolean afterburnerEnabled;
+  @Builder.Default private List<String> builderPackages = new ArrayList<>();
+  @Builder.Default private BufferPool bufferPool = BufferPool.THREAD_LOCAL;
+  @Builder.Default private int bufferPoolCapacity = 64;
+  private boolean warmUpEnabled;
+  @Builder.Default private List<String> warmUpPackages = new ArrayList<>();
+  private boolean xmlConverterEnabled;
+
+  /**
+   * Return properties populated from system properties, e.g. -Djackson.afterburner-enabled. Lists
+   * are comma separated.
+   */
+  public static JacksonMapperProperties fromSystemProperties() {
+    return JacksonMapperProperties.builder()
+        .afterburnerEnabled(Boolean.getBoolean("jackson.afterburner-enabled"))
+        .builderPackages(listProperty("jackson.builder-packages"))
+        .bufferPool(
+            BufferPool.valueOf(
+                System.getProperty("jackson.buffer-pool", BufferPool.THREAD_LOCAL.name())
+                    .trim()
+                    .toUpperCase(Locale.ENGLISH)))
+        .bufferPoolCapacity(Integer.getInteger("jackson.buffer-pool-capacity", 64))
+        .build();
+  }
+
+  private static List<String> listProperty(String name) {
+    List<String> values = new ArrayList<>();
+    for (String value : StringUtils.split(System.getProperty(name, ""), ',')) {
+      if (StringUtils.isNotBlank(value)) {
+        values.add(value.trim());
+      }
+    }
+    return values;
+  }
+
+  /** Where JSON mappers recycle their I/O buffers. */
+  public enum BufferPool {
+    /** Jackson's default, a recycler per thread that holds one buffer of each kind. */
+    THREAD_LOCAL,
+    /** A bounded pool shared by all threads, see {@link PooledBufferRecycler}. */
+    SHARED
+  }
+}
@@ -0,0 +1,137 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Resolves the serializers and deserializers of application types while the application starts
+ * instead of on the first request that uses them. This includes Lombok builder resolution and
+ * property introspection of each type and the types it refers to. Resolved serializers and
+ * deserializers are cached by the mapper.
+ *
+ * <p>All types in the {@code jackson.warm-up-packages} are resolved, as well as types annotated
+ * with {@link WarmUp} in the application's packages. Types that cannot be serialized or
+ * deserialized are skipped.
+ *
+ * <p>Warm-up runs after all singletons are created, before the web server accepts requests. The
+ * duration is logged and recorded as the {@code jackson.warm-up} timer.
+ */
+@Slf4j
+public class JacksonWarmUp implements SmartInitializingSingleton {
+  static final String TIMER = "jackson.warm-up";
+
+  private final ObjectMapper mapper;
+
+  private final Collection<String> packages;
+
+  private final Collection<String> annotatedPackages;
+
+  private final Optional<MeterRegistry> registry;
+
+  /** How long the last warm-up took. */
+  @Getter private volatile Duration duration = Duration.ZERO;
+
+  /**
+   * Create a warm-up of all types in the packages and the annotated types in the annotated
+   * packages.
+   */
+  public JacksonWarmUp(
+      ObjectMapper mapper,
+      Collection<String> packages,
+      Collection<String> annotatedPackages,
+      Optional<MeterRegistry> registry) {
+    this.mapper = mapper;
+    this.packages = packages;
+    this.annotatedPackages = annotatedPackages;
+    this.registry = registry;
+  }
+
+  /**
+   * Load the types in the given packages and their sub-packages, optionally only annotated ones.
+   */
+  static Set<Class<?>> scan(Collection<String> packages, boolean annotatedOnly) {
+    ClassPathScanningCandidateComponentProvider scanner =
+        new ClassPathScanningCandidateComponentProvider(false) {
+          @Override
+          protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+            return definition.getMetadata().isIndependent();
+          }
+        };
+    scanner.addIncludeFilter(
+        annotatedOnly ? new AnnotationTypeFilter(WarmUp.class) : (reader, factory) -> true);
+    ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+    Set<Class<?>> types = new LinkedHashSet<>();
+    for (String basePackage : packages) {
+      for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+        try {
+          types.add(ClassUtils.forName(candidate.getBeanClassName(), classLoader));
+        } catch (ClassNotFoundException | LinkageError e) {
+          log.debug("Cannot load {}: {}", candidate.getBeanClassName(), e.getMessage());
+        }
+      }
+    }
+    return types;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    warmUp();
+  }
+
+  /**
+   * Resolve the serializers and deserializers of the configured types. Return the number of types
+   * for which both were resolved.
+   */
+  public int warmUp() {
+    long start = System.nanoTime();
+    Set<Class<?>> types = scan(packages, false);
+    types.addAll(scan(annotatedPackages, true));
+    int resolved = 0;
+    for (Class<?> type : types) {
+      if (warmUp(type)) {
+        resolved++;
+      }
+    }
+    duration = Duration.ofNanos(System.nanoTime() - start);
+    registry.ifPresent(
+        r ->
+            Timer.builder(TIMER)
+                .description("Time to resolve Jackson serializers at startup")
+                .register(r)
+                .record(duration));
+    log.info(
+        "Jackson warm-up resolved {} of {} types in {} ms",
+        resolved,
+        types.size(),
+        duration.toMillis());
+    return resolved;
+  }
+
+  private boolean warmUp(Class<?> type) {
+    try {
+      boolean serializable = mapper.canSerialize(type);
+      boolean deserializable = mapper.canDeserialize(mapper.constructType(type));
+      if (!serializable || !deserializable) {
+        log.debug("Cannot warm up {}", type.getName());
+      }
+      return serializable && deserializable;
+    } catch (RuntimeException | LinkageError e) {
+      log.debug("Cannot warm up {}: {}", type.getName(), e.getMessage());
+      return false;
+    }
+  }
+}
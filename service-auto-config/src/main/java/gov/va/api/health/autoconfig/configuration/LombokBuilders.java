@@ -0,0 +1,113 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Resolves the Lombok style builders used to deserialize types without a default constructor. The
+ * result for each type, including types that do not have a builder, is resolved once and shared by
+ * all mappers. Member classes are inspected directly instead of being looked up by name, so types
+ * without a builder do not cost an exception.
+ *
+ * <p>Packages can be scanned ahead of time so that builders are resolved before the first request
+ * instead of while deserializers are being constructed. Scanning reads class files without loading
+ * them and only loads classes that have a member class named like a builder.
+ */
+@Slf4j
+final class LombokBuilders {
+  private static final String BUILDER_SUFFIX = "Builder";
+
+  /** Class values hold their results without preventing classes from being unloaded. */
+  private static final ClassValue<Optional<Class<?>>> BUILDERS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Class<?>> computeValue(Class<?> type) {
+          return Optional.ofNullable(resolve(type));
+        }
+      };
+
+  private static final Set<String> scannedPackages = ConcurrentHashMap.newKeySet();
+
+  private LombokBuilders() {}
+
+  /** Return the Lombok builder for the type, or null if it has a default constructor or none. */
+  static Class<?> builderFor(Class<?> type) {
+    return BUILDERS.get(type).orElse(null);
+  }
+
+  private static boolean hasDefaultConstructor(Class<?> type) {
+    for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+      if (constructor.getParameterCount() == 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Class<?> resolve(Class<?> type) {
+    if (hasDefaultConstructor(type)) {
+      return null;
+    }
+    String builderName = type.getSimpleName() + BUILDER_SUFFIX;
+    for (Class<?> member : type.getDeclaredClasses()) {
+      if (member.getSimpleName().equals(builderName)) {
+        return member;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Resolve builders for the types in the given packages and their sub-packages. Packages that have
+   * already been scanned are skipped, and the scanner is only created if there is a package left to
+   * scan. Return the number of builders found.
+   */
+  static int scan(Collection<String> packages) {
+    ClassPathScanningCandidateComponentProvider scanner = null;
+    ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+    int found = 0;
+    for (String basePackage : packages) {
+      if (!scannedPackages.add(basePackage)) {
+        continue;
+      }
+      if (scanner == null) {
+        scanner = scanner();
+      }
+      for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+        try {
+          if (builderFor(ClassUtils.forName(candidate.getBeanClassName(), classLoader)) != null) {
+            found++;
+          }
+        } catch (ClassNotFoundException | LinkageError e) {
+          log.debug("Cannot load {}: {}", candidate.getBeanClassName(), e.getMessage());
+        }
+      }
+    }
+    return found;
+  }
+
+  /** A scanner for top level and static member classes that have a member named like a builder. */
+  private static ClassPathScanningCandidateComponentProvider scanner() {
+    ClassPathScanningCandidateComponentProvider scanner =
+        new ClassPathScanningCandidateComponentProvider(false) {
+          @Override
+          protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+            return definition.getMetadata().isIndependent();
+          }
+        };
+    scanner.addIncludeFilter(
+        (reader, factory) ->
+            Arrays.stream(reader.getClassMetadata().getMemberClassNames())
+                .anyMatch(name -> name.endsWith(BUILDER_SUFFIX)));
+    return scanner;
+  }
+}
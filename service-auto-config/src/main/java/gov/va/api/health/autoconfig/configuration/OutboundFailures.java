@@ -0,0 +1,85 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * The most recent failed calls made by rest templates from {@link SecureRestTemplateConfig}. A
+ * fixed number of failures is kept, each replacing the oldest, so a failing downstream service
+ * cannot use more memory however many calls fail. Failures are read, newest first, with the {@code
+ * outboundfailures} actuator endpoint, which must be exposed like any other, e.g. {@code
+ * management.endpoints.web.exposure.include=health,outboundfailures}.
+ */
+@Endpoint(id = "outboundfailures")
+public class OutboundFailures {
+  private final AtomicReferenceArray<Failure> ring;
+
+  private final AtomicLong next = new AtomicLong();
+
+  /** Keep up to capacity failures. A capacity of zero keeps none. */
+  public OutboundFailures(int capacity) {
+    ring = new AtomicReferenceArray<>(Math.max(capacity, 0));
+  }
+
+  /** Return true if failures are kept. */
+  boolean enabled() {
+    return ring.length() > 0;
+  }
+
+  /** Return the kept failures, newest first. */
+  @ReadOperation
+  public List<Failure> failures() {
+    List<Failure> failures = new ArrayList<>(ring.length());
+    long newest = next.get() - 1;
+    for (long i = newest; i >= 0 && i > newest - ring.length(); i--) {
+      Failure failure = ring.get((int) (i % ring.length()));
+      if (failure != null) {
+        failures.add(failure);
+      }
+    }
+    return failures;
+  }
+
+  /** Keep the failure, replacing the oldest one if full. */
+  void record(Failure failure) {
+    if (enabled()) {
+      ring.set((int) (next.getAndIncrement() % ring.length()), failure);
+    }
+  }
+
+  /**
+   * A failed call, either an error status or an exception. Bodies are truncated and sensitive
+   * headers are masked.
+   */
+  @Value
+  @Builder
+  public static class Failure {
+    Instant time;
+
+    String method;
+
+    String uri;
+
+    long durationMillis;
+
+    Map<String, List<String>> requestHeaders;
+
+    String requestBody;
+
+    Integer status;
+
+    Map<String, List<String>> responseHeaders;
+
+    String responseBody;
+
+    String exception;
+  }
+}
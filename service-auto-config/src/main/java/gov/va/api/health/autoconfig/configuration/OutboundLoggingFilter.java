@@ -0,0 +1,99 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import gov.va.api.health.autoconfig.configuration.OutboundFailures.Failure;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * The WebClient equivalent of the {@link OutboundLoggingInterceptor}. Each exchange is logged as a
+ * single line of fields when its response arrives. Failed exchanges are recorded in {@link
+ * OutboundFailures} with their headers, but without bodies, which are only available to the
+ * subscriber.
+ */
+@Slf4j
+final class OutboundLoggingFilter implements ExchangeFilterFunction {
+  private final double sampleRate;
+
+  private final long slowThresholdNanos;
+
+  private final OutboundFailures failures;
+
+  OutboundLoggingFilter(HttpClientProperties properties, OutboundFailures failures) {
+    sampleRate = properties.getLogSampleRate();
+    slowThresholdNanos = properties.getLogSlowThreshold().toNanos();
+    this.failures = failures;
+  }
+
+  private Failure.FailureBuilder failure(ClientRequest request, long elapsedNanos) {
+    return Failure.builder()
+        .time(Instant.now())
+        .method(String.valueOf(request.method()))
+        .uri(String.valueOf(request.url()))
+        .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+        .requestHeaders(OutboundLoggingInterceptor.masked(request.headers()));
+  }
+
+  @Override
+  public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+    return Mono.defer(
+        () -> {
+          long start = System.nanoTime();
+          return next.exchange(request)
+              .doOnNext(response -> responded(request, response, System.nanoTime() - start))
+              .doOnError(e -> failed(request, e, System.nanoTime() - start));
+        });
+  }
+
+  private void failed(ClientRequest request, Throwable e, long elapsed) {
+    log.warn(
+        "method={} uri={} exception={} durationMillis={}",
+        request.method(),
+        request.url(),
+        e.getClass().getSimpleName(),
+        TimeUnit.NANOSECONDS.toMillis(elapsed));
+    if (failures.enabled()) {
+      failures.record(failure(request, elapsed).exception(e.toString()).build());
+    }
+  }
+
+  private void responded(ClientRequest request, ClientResponse response, long elapsed) {
+    int status = response.rawStatusCode();
+    if (status >= 400) {
+      log.warn(
+          "method={} uri={} status={} durationMillis={}",
+          request.method(),
+          request.url(),
+          status,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (failures.enabled()) {
+        failures.record(
+            failure(request, elapsed)
+                .status(status)
+                .responseHeaders(
+                    OutboundLoggingInterceptor.masked(response.headers().asHttpHeaders()))
+                .build());
+      }
+      return;
+    }
+    if (elapsed >= slowThresholdNanos || sampled()) {
+      log.info(
+          "method={} uri={} status={} durationMillis={}",
+          request.method(),
+          request.url(),
+          status,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+  }
+
+  private boolean sampled() {
+    return sampleRate >= 1
+        || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+  }
+}
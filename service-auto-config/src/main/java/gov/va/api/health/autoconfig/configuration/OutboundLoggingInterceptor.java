@@ -0,0 +1,144 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import gov.va.api.health.autoconfig.configuration.OutboundFailures.Failure;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Logs each outbound call as a single line of fields, e.g. {@code method=GET uri=http://example.com
+ * status=200 durationMillis=12}. Successful calls are logged at INFO at the sample rate, or always
+ * if they take at least the slow threshold. Failed calls, with an error status or an exception, are
+ * always logged at WARN and recorded in the {@link OutboundFailures} ring with their headers and
+ * the first bytes of their bodies. Bodies are never written to the log.
+ */
+@Slf4j
+final class OutboundLoggingInterceptor implements ClientHttpRequestInterceptor {
+  private static final Set<String> MASKED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+  private static final List<String> MASK = List.of("******");
+
+  static {
+    MASKED_HEADERS.addAll(
+        List.of(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.PROXY_AUTHORIZATION, "Cookie", "Set-Cookie"));
+  }
+
+  private final double sampleRate;
+
+  private final long slowThresholdNanos;
+
+  private final int bodyLimit;
+
+  private final OutboundFailures failures;
+
+  OutboundLoggingInterceptor(HttpClientProperties properties, OutboundFailures failures) {
+    sampleRate = properties.getLogSampleRate();
+    slowThresholdNanos = properties.getLogSlowThreshold().toNanos();
+    bodyLimit = (int) properties.getErrorBodyCaptureSize().toBytes();
+    this.failures = failures;
+  }
+
+  /** Copy the headers, masking credentials. */
+  static Map<String, List<String>> masked(HttpHeaders headers) {
+    Map<String, List<String>> masked = new LinkedHashMap<>();
+    headers.forEach(
+        (name, values) ->
+            masked.put(name, MASKED_HEADERS.contains(name) ? MASK : List.copyOf(values)));
+    return masked;
+  }
+
+  private String bodyText(byte[] body) {
+    if (body.length > bodyLimit) {
+      return CapturedResponse.truncatedText(body, bodyLimit);
+    }
+    return new String(body, StandardCharsets.UTF_8);
+  }
+
+  private Failure.FailureBuilder failure(HttpRequest request, byte[] body, long elapsedNanos) {
+    return Failure.builder()
+        .time(Instant.now())
+        .method(String.valueOf(request.getMethod()))
+        .uri(String.valueOf(request.getURI()))
+        .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+        .requestHeaders(masked(request.getHeaders()))
+        .requestBody(bodyText(body));
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    long start = System.nanoTime();
+    ClientHttpResponse response;
+    try {
+      response = execution.execute(request, body);
+    } catch (IOException | RuntimeException e) {
+      long elapsed = System.nanoTime() - start;
+      log.warn(
+          "method={} uri={} exception={} durationMillis={}",
+          request.getMethod(),
+          request.getURI(),
+          e.getClass().getSimpleName(),
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (failures.enabled()) {
+        failures.record(failure(request, body, elapsed).exception(e.toString()).build());
+      }
+      throw e;
+    }
+    long elapsed = System.nanoTime() - start;
+    int status = response.getRawStatusCode();
+    if (status >= 400) {
+      log.warn(
+          "method={} uri={} status={} durationMillis={}",
+          request.getMethod(),
+          request.getURI(),
+          status,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (!failures.enabled()) {
+        return response;
+      }
+      CapturedResponse captured;
+      try {
+        captured = CapturedResponse.capture(response, bodyLimit);
+      } catch (IOException | RuntimeException e) {
+        /* The caller never receives the response, so its pooled connection is released here. */
+        response.close();
+        throw e;
+      }
+      failures.record(
+          failure(request, body, elapsed)
+              .status(status)
+              .responseHeaders(masked(response.getHeaders()))
+              .responseBody(captured.bodyText())
+              .build());
+      return captured;
+    }
+    if (elapsed >= slowThresholdNanos || sampled()) {
+      log.info(
+          "method={} uri={} status={} durationMillis={}",
+          request.getMethod(),
+          request.getURI(),
+          status,
+          TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+    return response;
+  }
+
+  private boolean sampled() {
+    return sampleRate >= 1
+        || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+  }
+}
@@ -0,0 +1,150 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A buffer recycler shared by all threads, instead of Jackson's default of one recycler per thread.
+ * Released buffers are kept in bounded lock-free pools, one for each kind of buffer, and handed to
+ * whichever thread needs one next. Buffers are allocated when the pool is empty and discarded when
+ * it is full, so at most {@code capacity} buffers of each kind are retained regardless of the
+ * number of threads.
+ *
+ * <p>Hits and misses are reported as the {@code jackson.buffers} counter, tagged with {@code
+ * result}.
+ */
+final class PooledBufferRecycler extends BufferRecycler implements MeterBinder {
+  private static final int BYTE_BUFFER_KINDS = 4;
+
+  private static final int CHAR_BUFFER_KINDS = 4;
+
+  private static final Map<Integer, PooledBufferRecycler> SHARED = new ConcurrentHashMap<>();
+
+  private final Pool<byte[]>[] bytePools;
+
+  private final Pool<char[]>[] charPools;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  PooledBufferRecycler(int capacity) {
+    super(0, 0);
+    bytePools = new Pool[BYTE_BUFFER_KINDS];
+    for (int i = 0; i < bytePools.length; i++) {
+      bytePools[i] = new Pool<>(capacity);
+    }
+    charPools = new Pool[CHAR_BUFFER_KINDS];
+    for (int i = 0; i < charPools.length; i++) {
+      charPools[i] = new Pool<>(capacity);
+    }
+  }
+
+  /** Return the recycler shared by all mappers with this capacity. */
+  static PooledBufferRecycler shared(int capacity) {
+    return SHARED.computeIfAbsent(capacity, PooledBufferRecycler::new);
+  }
+
+  @Override
+  public byte[] allocByteBuffer(int ix, int minSize) {
+    int size = Math.max(minSize, byteBufferLength(ix));
+    byte[] buffer = bytePools[ix].take();
+    if (buffer != null && buffer.length >= size) {
+      hits.increment();
+      return buffer;
+    }
+    misses.increment();
+    return balloc(size);
+  }
+
+  @Override
+  public char[] allocCharBuffer(int ix, int minSize) {
+    int size = Math.max(minSize, charBufferLength(ix));
+    char[] buffer = charPools[ix].take();
+    if (buffer != null && buffer.length >= size) {
+      hits.increment();
+      return buffer;
+    }
+    misses.increment();
+    return calloc(size);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("jackson.buffers", hits, LongAdder::doubleValue)
+        .description("Jackson buffers taken from the pool")
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("jackson.buffers", misses, LongAdder::doubleValue)
+        .description("Jackson buffers allocated because the pool had none")
+        .tag("result", "miss")
+        .register(registry);
+  }
+
+  long hits() {
+    return hits.sum();
+  }
+
+  long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public void releaseByteBuffer(int ix, byte[] buffer) {
+    if (buffer != null) {
+      bytePools[ix].give(buffer);
+    }
+  }
+
+  @Override
+  public void releaseCharBuffer(int ix, char[] buffer) {
+    if (buffer != null) {
+      charPools[ix].give(buffer);
+    }
+  }
+
+  /**
+   * A fixed number of slots that are claimed and filled with compare-and-set. Threads start
+   * searching at different slots to avoid contending for the same one.
+   */
+  private static final class Pool<T> {
+    private final AtomicReferenceArray<T> slots;
+
+    Pool(int capacity) {
+      slots = new AtomicReferenceArray<>(Math.max(capacity, 1));
+    }
+
+    /** Keep the item if there is an empty slot. */
+    void give(T item) {
+      int length = slots.length();
+      for (int i = 0, slot = start(); i < length; i++, slot = (slot + 1) % length) {
+        if (slots.get(slot) == null && slots.compareAndSet(slot, null, item)) {
+          return;
+        }
+      }
+    }
+
+    private int start() {
+      return (int) (Thread.currentThread().getId() % slots.length());
+    }
+
+    /** Return a pooled item, or null if there are none. */
+    T take() {
+      int length = slots.length();
+      for (int i = 0, slot = start(); i < length; i++, slot = (slot + 1) % length) {
+        T item = slots.get(slot);
+        if (item != null && slots.compareAndSet(slot, item, null)) {
+          return item;
+        }
+      }
+      return null;
+    }
+  }
+}
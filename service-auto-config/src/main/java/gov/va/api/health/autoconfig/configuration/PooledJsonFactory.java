@@ -0,0 +1,36 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+/**
+ * A JSON factory whose parsers and generators take their buffers from a {@link
+ * PooledBufferRecycler}. This includes the input buffers used to read request bodies and the output
+ * buffers used to write responses.
+ */
+final class PooledJsonFactory extends JsonFactory {
+  private static final long serialVersionUID = 1L;
+
+  /** Deserialized factories fall back to Jackson's thread-local recycler. */
+  private final transient PooledBufferRecycler recycler;
+
+  PooledJsonFactory(PooledBufferRecycler recycler) {
+    this.recycler = recycler;
+  }
+
+  private PooledJsonFactory(PooledJsonFactory src, ObjectCodec codec) {
+    super(src, codec);
+    recycler = src.recycler;
+  }
+
+  @Override
+  public BufferRecycler _getBufferRecycler() {
+    return recycler == null ? super._getBufferRecycler() : recycler;
+  }
+
+  @Override
+  public JsonFactory copy() {
+    return new PooledJsonFactory(this, null);
+  }
+}
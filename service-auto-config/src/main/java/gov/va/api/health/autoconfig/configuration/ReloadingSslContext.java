@@ -0,0 +1,428 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import gov.va.api.health.autoconfig.configuration.SecureRestTemplateConfig.FailedToConfigureSsl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.security.KeyManagementException;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.CertificateException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLContextSpi;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocketFactory;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import lombok.ToString;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * The SSL context for {@link SslClientProperties}, shared by every client created with the same
+ * properties so that they share its TLS session cache. A new connection to a host that was recently
+ * connected to resumes the earlier session instead of performing a full handshake. The properties
+ * are copied when the context is created, so later changes to them do not affect it.
+ *
+ * <p>Key and trust stores that are files are checked for changes every reload interval, if one is
+ * set. Changed stores are loaded into a new context, which replaces the current one for new
+ * connections without recreating the clients. If the stores cannot be loaded, e.g. because they are
+ * partially written, the current context is kept until the stores change again. Reloads are counted
+ * by the {@code ssl.reloads} counter, tagged with {@code result}.
+ *
+ * <p>Only {@link #shared shared} contexts watch their stores, until every bean using the context is
+ * destroyed.
+ */
+@Slf4j
+public final class ReloadingSslContext implements DisposableBean {
+  /** Guarded by itself, as are the users of each context. */
+  private static final Map<Key, ReloadingSslContext> SHARED = new HashMap<>();
+
+  private final Key config;
+
+  private final List<File> watched;
+
+  private final Counter reloaded;
+
+  private final Counter failed;
+
+  private final SSLSocketFactory socketFactory = new CurrentSocketFactory();
+
+  private volatile long stamp;
+
+  private volatile SSLContext context;
+
+  private int users;
+
+  private ScheduledFuture<?> reload;
+
+  ReloadingSslContext(SslClientProperties config, MeterRegistry registry) {
+    this.config = Key.of(config);
+    watched = watchedFiles(this.config);
+    reloaded = reloads(registry, "success");
+    failed = reloads(registry, "failure");
+    stamp = stamp();
+    context = load();
+  }
+
+  private static String fileOrClasspath(String path) {
+    if (StringUtils.startsWith(path, "file:") || StringUtils.startsWith(path, "classpath:")) {
+      return path;
+    }
+    throw new IllegalArgumentException("Expected file or classpath resources. Got " + path);
+  }
+
+  private static KeyStore loadKeyStore(String path, char[] password) {
+    try {
+      KeyStore keyStore = KeyStore.getInstance("JKS");
+      try (InputStream keystoreStream = ResourceUtils.getURL(fileOrClasspath(path)).openStream()) {
+        keyStore.load(keystoreStream, password);
+      }
+      return keyStore;
+    } catch (IOException | KeyStoreException | NoSuchAlgorithmException | CertificateException e) {
+      throw new FailedToConfigureSsl("Cannot load: " + path, e);
+    }
+  }
+
+  private static Counter reloads(MeterRegistry registry, String result) {
+    return Counter.builder("ssl.reloads")
+        .description("Reloads of changed SSL key and trust stores")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  /**
+   * Return the context shared by all clients with these properties, creating it the first time.
+   * Reloads are counted by the registry it was created with. Stores that cannot be loaded the first
+   * time fail with {@link FailedToConfigureSsl}. Each caller is expected to {@link #destroy()} it.
+   */
+  static ReloadingSslContext shared(SslClientProperties config, MeterRegistry registry) {
+    Key key = Key.of(config);
+    synchronized (SHARED) {
+      ReloadingSslContext context = SHARED.get(key);
+      if (context == null) {
+        context = new ReloadingSslContext(config, registry);
+        context.watch();
+        SHARED.put(key, context);
+      }
+      context.users++;
+      return context;
+    }
+  }
+
+  private static List<File> watchedFiles(Key config) {
+    List<String> paths = new ArrayList<>();
+    if (config.enableClient()) {
+      paths.add(config.keyStore());
+      if (config.useTrustStore()) {
+        paths.add(config.trustStore());
+      }
+    }
+    List<File> files = new ArrayList<>();
+    for (String path : paths) {
+      if (StringUtils.startsWith(path, "file:")) {
+        try {
+          files.add(ResourceUtils.getFile(path));
+        } catch (FileNotFoundException e) {
+          throw new FailedToConfigureSsl("Cannot load: " + path, e);
+        }
+      }
+    }
+    return files;
+  }
+
+  /**
+   * An SSL context whose engines are created by the current context, for clients that take an
+   * {@code SSLContext} instead of a socket factory.
+   */
+  SSLContext asSslContext() {
+    SSLContext current = context;
+    return new SSLContext(new CurrentContextSpi(), current.getProvider(), current.getProtocol()) {};
+  }
+
+  /** The current context, which may be replaced when the stores change. */
+  SSLContext current() {
+    return context;
+  }
+
+  /** Stop watching the stores once the last user of a shared context is destroyed. */
+  @Override
+  public void destroy() {
+    synchronized (SHARED) {
+      if (users > 0 && --users > 0) {
+        return;
+      }
+      SHARED.remove(config, this);
+      if (reload != null) {
+        reload.cancel(false);
+        reload = null;
+      }
+    }
+  }
+
+  private SSLContext load() {
+    SSLContext loaded = config.enableClient() ? withKeyMaterial() : SSLContexts.createDefault();
+    SSLSessionContext sessions = loaded.getClientSessionContext();
+    if (config.sessionCacheSize() > 0) {
+      sessions.setSessionCacheSize(config.sessionCacheSize());
+    }
+    if (config.sessionTimeout().getSeconds() > 0) {
+      sessions.setSessionTimeout(
+          (int) Math.min(config.sessionTimeout().getSeconds(), Integer.MAX_VALUE));
+    }
+    return loaded;
+  }
+
+  /**
+   * Load the stores into a new context if they have changed since they were last loaded. Return
+   * true if the context was replaced.
+   */
+  boolean reloadIfModified() {
+    long modified = stamp();
+    if (modified == stamp) {
+      return false;
+    }
+    stamp = modified;
+    try {
+      context = load();
+      log.info("Reloaded SSL key and trust stores {}", watched);
+      reloaded.increment();
+      return true;
+    } catch (RuntimeException e) {
+      log.warn("Cannot reload SSL key and trust stores {}, keeping the current ones", watched, e);
+      failed.increment();
+      return false;
+    }
+  }
+
+  /** A socket factory that creates sockets with the current context. */
+  SSLSocketFactory socketFactory() {
+    return socketFactory;
+  }
+
+  /** Combines the modification time and size of the watched files, to detect any change. */
+  private long stamp() {
+    long stamp = 0;
+    for (File file : watched) {
+      stamp = 31 * stamp + file.lastModified();
+      stamp = 31 * stamp + file.length();
+    }
+    return stamp;
+  }
+
+  /** True if the stores are checked for changes, i.e. until this context is destroyed. */
+  boolean watching() {
+    synchronized (SHARED) {
+      return reload != null;
+    }
+  }
+
+  private void watch() {
+    if (config.reloadInterval() == null || watched.isEmpty()) {
+      return;
+    }
+    long interval = config.reloadInterval().toMillis();
+    if (interval <= 0) {
+      return;
+    }
+    reload =
+        Reloader.EXECUTOR.scheduleWithFixedDelay(
+            this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  private SSLContext withKeyMaterial() {
+    try {
+      SSLContextBuilder builder =
+          SSLContextBuilder.create()
+              .loadKeyMaterial(
+                  loadKeyStore(config.keyStore(), config.keyStorePassword().toCharArray()),
+                  config.clientKeyPassword().toCharArray());
+      if (config.useTrustStore()) {
+        builder.loadTrustMaterial(
+            loadKeyStore(config.trustStore(), config.trustStorePassword().toCharArray()),
+            new TrustAllStrategy());
+      }
+      return builder.build();
+    } catch (KeyStoreException
+        | NoSuchAlgorithmException
+        | UnrecoverableKeyException
+        | KeyManagementException e) {
+      throw new FailedToConfigureSsl(e);
+    }
+  }
+
+  /**
+   * The properties the context is loaded with, which identify the shared context. Unlike {@link
+   * SslClientProperties}, this cannot change while it is a key of the shared contexts.
+   */
+  @Value
+  private static final class Key {
+    boolean enableClient;
+
+    String keyStore;
+
+    @ToString.Exclude String keyStorePassword;
+
+    @ToString.Exclude String clientKeyPassword;
+
+    boolean useTrustStore;
+
+    String trustStore;
+
+    @ToString.Exclude String trustStorePassword;
+
+    int sessionCacheSize;
+
+    Duration sessionTimeout;
+
+    Duration reloadInterval;
+
+    static Key of(SslClientProperties config) {
+      return new Key(
+          config.isEnableClient(),
+          config.getKeyStore(),
+          config.getKeyStorePassword(),
+          config.getClientKeyPassword(),
+          config.isUseTrustStore(),
+          config.getTrustStore(),
+          config.getTrustStorePassword(),
+          config.getSessionCacheSize(),
+          config.getSessionTimeout(),
+          config.getReloadInterval());
+    }
+  }
+
+  /** The reload thread is only started if there are stores to watch. */
+  private static final class Reloader {
+    static final ScheduledExecutorService EXECUTOR =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "ssl-reload");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Delegates to the current context. It is already initialized and cannot be initialized again.
+   */
+  private final class CurrentContextSpi extends SSLContextSpi {
+    @Override
+    protected SSLEngine engineCreateSSLEngine() {
+      return context.createSSLEngine();
+    }
+
+    @Override
+    protected SSLEngine engineCreateSSLEngine(String host, int port) {
+      return context.createSSLEngine(host, port);
+    }
+
+    @Override
+    protected SSLSessionContext engineGetClientSessionContext() {
+      return context.getClientSessionContext();
+    }
+
+    @Override
+    protected SSLParameters engineGetDefaultSSLParameters() {
+      return context.getDefaultSSLParameters();
+    }
+
+    @Override
+    protected SSLSessionContext engineGetServerSessionContext() {
+      return context.getServerSessionContext();
+    }
+
+    @Override
+    protected SSLServerSocketFactory engineGetServerSocketFactory() {
+      return context.getServerSocketFactory();
+    }
+
+    @Override
+    protected SSLSocketFactory engineGetSocketFactory() {
+      return socketFactory;
+    }
+
+    @Override
+    protected SSLParameters engineGetSupportedSSLParameters() {
+      return context.getSupportedSSLParameters();
+    }
+
+    @Override
+    protected void engineInit(KeyManager[] km, TrustManager[] tm, SecureRandom random)
+        throws KeyManagementException {
+      throw new KeyManagementException("Already initialized");
+    }
+  }
+
+  /** Delegates to the socket factory of the current context. */
+  private final class CurrentSocketFactory extends SSLSocketFactory {
+    @Override
+    public Socket createSocket() throws IOException {
+      return context.getSocketFactory().createSocket();
+    }
+
+    @Override
+    public Socket createSocket(Socket socket, String host, int port, boolean autoClose)
+        throws IOException {
+      return context.getSocketFactory().createSocket(socket, host, port, autoClose);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+      return context.getSocketFactory().createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
+        throws IOException {
+      return context.getSocketFactory().createSocket(host, port, localHost, localPort);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+      return context.getSocketFactory().createSocket(host, port);
+    }
+
+    @Override
+    public Socket createSocket(
+        InetAddress address, int port, InetAddress localAddress, int localPort) throws IOException {
+      return context.getSocketFactory().createSocket(address, port, localAddress, localPort);
+    }
+
+    @Override
+    public String[] getDefaultCipherSuites() {
+      return context.getSocketFactory().getDefaultCipherSuites();
+    }
+
+    @Override
+    public String[] getSupportedCipherSuites() {
+      return context.getSocketFactory().getSupportedCipherSuites();
+    }
+  }
+}
@@ -1,146 +1,181 @@
 package gov.va.api.health.autoconfig.configuration;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.security.KeyManagementException;
-import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.UnrecoverableKeyException;
-import java.security.cert.CertificateException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
-import javax.net.ssl.SSLContext;
+import javax.net.ssl.HostnameVerifier;
 import lombok.AllArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
-import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
-import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
-import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.util.ResourceUtils;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * This factory provides rest template that are configured for SSL communication per {@link
- * SslClientProperties}. Additionally this attaches an interceptor that will provide logging on
- * failed requests.
+ * SslClientProperties}, with a connection pool and timeouts per {@link HttpClientProperties}.
+ * Templates use the {@link ReloadingSslContext} of {@link SslContextConfig}, and handshakes are
+ * recorded by the application's {@link MeterRegistry}, if any. Configurations created without
+ * Spring have their own context, whose stores are not reloaded. Additionally this attaches an
+ * interceptor that logs requests and records failed requests. Internal hosts are asked for binary
+ * responses per {@link BinaryTransportProperties}.
  */
 @Configuration
-@Slf4j
-@AllArgsConstructor(onConstructor = @__({@Autowired}))
+@AllArgsConstructor
 public class SecureRestTemplateConfig {
   private final SslClientProperties config;
 
-  private Supplier<ClientHttpRequestFactory> bufferingRequestFactory(HttpClient client) {
-    return () ->
-        new BufferingClientHttpRequestFactory(new HttpComponentsClientHttpRequestFactory(client));
+  private final HttpClientProperties client;
+
+  private final BinaryTransportProperties binaryTransport;
+
+  private final ReloadingSslContext reloadingSslContext;
+
+  private final MeterRegistry registry;
+
+  /** Metrics are not recorded if the application does not have a meter registry. */
+  @Autowired
+  public SecureRestTemplateConfig(
+      SslClientProperties config,
+      HttpClientProperties client,
+      BinaryTransportProperties binaryTransport,
+      ReloadingSslContext reloadingSslContext,
+      ObjectProvider<MeterRegistry> registry) {
+    this(
+        config,
+        client,
+        binaryTransport,
+        reloadingSslContext,
+        registry.getIfAvailable(CompositeMeterRegistry::new));
   }
 
-  private String fileOrClasspath(String path) {
-    if (StringUtils.startsWith(path, "file:") || StringUtils.startsWith(path, "classpath:")) {
-      return path;
-    }
-    throw new IllegalArgumentException("Expected file or classpath resources. Got " + path);
+  /** Create a configuration with its own SSL context, without metrics. */
+  public SecureRestTemplateConfig(
+      SslClientProperties config,
+      HttpClientProperties client,
+      BinaryTransportProperties binaryTransport) {
+    this(
+        config,
+        client,
+        binaryTransport,
+        new ReloadingSslContext(config, new CompositeMeterRegistry()),
+        new CompositeMeterRegistry());
   }
 
-  private CloseableHttpClient httpClientWithSsl() {
-    HttpClientBuilder builder = HttpClients.custom();
-    if (config.isEnableClient()) {
-      builder.setSSLContext(sslContext());
-    }
-    if (!config.isVerify()) {
-      builder.setSSLHostnameVerifier(new NoopHostnameVerifier());
-    }
-    return builder.build();
+  /**
+   * Create a configuration with the default connection pool that asks all hosts for JSON, without
+   * metrics.
+   */
+  public SecureRestTemplateConfig(SslClientProperties config) {
+    this(config, new HttpClientProperties(), new BinaryTransportProperties());
   }
 
-  private KeyStore loadKeyStore(String path, char[] password) {
-    try {
-      KeyStore keyStore = KeyStore.getInstance("JKS");
-      try (InputStream keystoreStream = ResourceUtils.getURL(fileOrClasspath(path)).openStream()) {
-        keyStore.load(keystoreStream, password);
-      }
-      return keyStore;
-    } catch (IOException | KeyStoreException | NoSuchAlgorithmException | CertificateException e) {
-      throw new FailedToConfigureSsl("Cannot load: " + path, e);
-    }
+  private static int millis(Duration duration) {
+    return (int) Math.min(duration.toMillis(), Integer.MAX_VALUE);
+  }
+
+  private PoolingHttpClientConnectionManager connectionManager() {
+    HostnameVerifier verifier =
+        config.isVerify()
+            ? SSLConnectionSocketFactory.getDefaultHostnameVerifier()
+            : new NoopHostnameVerifier();
+    Registry<ConnectionSocketFactory> sockets =
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register(
+                "https",
+                new HandshakeTimingSocketFactory(
+                    reloadingSslContext.socketFactory(), verifier, registry))
+            .build();
+    PoolingHttpClientConnectionManager connections =
+        new PoolingHttpClientConnectionManager(
+            sockets, null, null, null, client.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+    connections.setDefaultMaxPerRoute(client.getMaxConnectionsPerRoute());
+    connections.setMaxTotal(client.getMaxConnections());
+    connections.setValidateAfterInactivity(millis(client.getValidateAfterInactivity()));
+    connections.setDefaultSocketConfig(
+        SocketConfig.custom().setSoTimeout(millis(client.getSocketTimeout())).build());
+    return connections;
   }
 
-  private ClientHttpRequestInterceptor loggingInterceptor() {
-    return (request, body, execution) -> {
-      log.info("{} {}", request.getMethod(), request.getURI());
-      ClientHttpResponse response = execution.execute(request, body);
-      if (response.getStatusCode().isError()) {
-        log.error("--- REQUEST FAILED ---------------------------------");
-        log.error("{} {}", request.getMethod(), request.getURI());
-        log.error("Headers: {}", request.getHeaders());
-        log.error("Request Body:\n{}", new String(body, StandardCharsets.UTF_8));
-        log.error("--- RESPONSE ---------------------------------------");
-        log.error(
-            "Response: {} ({})",
-            response.getStatusCode(),
-            response.getStatusCode().getReasonPhrase());
-        log.error("Headers: {}", response.getHeaders());
-        log.error(
-            "Response Body:\n{}",
-            StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
-        log.error("----------------------------------------------------");
-      } else {
-        log.info(
-            "Response from {} {} is {}",
-            request.getMethod(),
-            request.getURI(),
-            response.getStatusCode());
-      }
-      return response;
-    };
+  /** The most recent failed calls, available with the {@code outboundfailures} endpoint. */
+  @Bean
+  public OutboundFailures outboundFailures() {
+    return new OutboundFailures(client.getFailureCaptureCapacity());
   }
 
   /**
-   * Creates a RestTemplate that is configured to SSL. It will also have a logging interceptor that
-   * will record information on a service call failure.
+   * Creates a RestTemplate that is configured to SSL, with pooled connections. It will also have a
+   * logging interceptor that logs each call and records failed calls in {@link OutboundFailures}.
    */
   @Bean
   public RestTemplate restTemplate(@Autowired RestTemplateBuilder restTemplateBuilder) {
-    return restTemplateBuilder
-        .requestFactory(bufferingRequestFactory(httpClientWithSsl()))
-        .additionalInterceptors(loggingInterceptor())
-        .build();
+    RestTemplateBuilder builder =
+        restTemplateBuilder
+            .requestFactory(requestFactory(secureRestTemplateHttpClient()))
+            .additionalInterceptors(new OutboundLoggingInterceptor(client, outboundFailures()));
+    if (!binaryTransport.getHosts().isEmpty()) {
+      builder =
+          builder.additionalInterceptors(
+              new BinaryTransportInterceptor(
+                  binaryTransport.getFormat().mediaType(), binaryTransport.getHosts()));
+    }
+    return builder.build();
   }
 
-  private SSLContext sslContext() {
-    try {
-      SSLContextBuilder builder =
-          SSLContextBuilder.create()
-              .loadKeyMaterial(
-                  loadKeyStore(config.getKeyStore(), config.keyStorePassword()),
-                  config.clientKeyPassword());
-      if (config.isUseTrustStore()) {
-        builder.loadTrustMaterial(
-            loadKeyStore(config.getTrustStore(), config.trustStorePassword()),
-            new TrustAllStrategy());
-      }
-      return builder.build();
-    } catch (KeyStoreException
-        | NoSuchAlgorithmException
-        | UnrecoverableKeyException
-        | KeyManagementException e) {
-      throw new FailedToConfigureSsl(e);
+  /**
+   * Responses are buffered in memory, unless streaming. Streamed responses are read by the message
+   * converters directly from the connection.
+   */
+  private Supplier<ClientHttpRequestFactory> requestFactory(HttpClient httpClient) {
+    if (client.isStreamResponses()) {
+      return () -> new HttpComponentsClientHttpRequestFactory(httpClient);
     }
+    return () ->
+        new BufferingClientHttpRequestFactory(
+            new HttpComponentsClientHttpRequestFactory(httpClient));
+  }
+
+  /**
+   * The HTTP client of rest templates, which owns their connection pool and the thread that evicts
+   * idle and expired connections. Both are closed with the application context.
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient secureRestTemplateHttpClient() {
+    HttpClientBuilder builder =
+        HttpClients.custom()
+            .setConnectionManager(connectionManager())
+            .setDefaultRequestConfig(
+                RequestConfig.custom()
+                    .setConnectTimeout(millis(client.getConnectTimeout()))
+                    .setSocketTimeout(millis(client.getSocketTimeout()))
+                    .setConnectionRequestTimeout(millis(client.getLeaseTimeout()))
+                    .build())
+            .evictExpiredConnections();
+    /* A max idle time of zero would close every idle connection, i.e. no reuse at all. */
+    if (!client.getMaxIdleTime().isZero() && !client.getMaxIdleTime().isNegative()) {
+      builder.evictIdleConnections(client.getMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+    }
+    return builder.build();
   }
 
   public static class FailedToConfigureSsl extends RuntimeException {
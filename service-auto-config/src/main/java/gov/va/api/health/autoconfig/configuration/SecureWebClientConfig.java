@@ -0,0 +1,108 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * This factory provides a non-blocking WebClient configured like the rest template of {@link
+ * SecureRestTemplateConfig}. It uses the same {@link ReloadingSslContext}, and its session cache,
+ * as the rest templates, including reloaded key and trust stores. Connections are pooled and timed
+ * out per {@link HttpClientProperties}. Calls are logged, and failed calls recorded in {@link
+ * OutboundFailures}, like rest template calls.
+ *
+ * <p>The pool of this version of Reactor Netty is limited per host only, by {@code
+ * http-client.max-connections-per-route}, and does not evict idle or expired connections.
+ */
+@Configuration
+@ConditionalOnClass({WebClient.class, HttpClient.class})
+@AllArgsConstructor(onConstructor = @__({@Autowired}))
+public class SecureWebClientConfig {
+  private final SslClientProperties config;
+
+  private final HttpClientProperties client;
+
+  private final OutboundFailures failures;
+
+  private final ReloadingSslContext reloadingSslContext;
+
+  private HttpClient httpClient() {
+    int connectMillis = (int) Math.min(client.getConnectTimeout().toMillis(), Integer.MAX_VALUE);
+    long socketMillis = client.getSocketTimeout().toMillis();
+    HttpClient httpClient =
+        HttpClient.create(secureWebClientConnections())
+            .tcpConfiguration(
+                tcp -> tcp.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectMillis))
+            .secure(
+                spec -> spec.sslContext(sslContext()).handlerConfigurator(this::verifyHostname));
+    if (socketMillis > 0) {
+      /* Handlers added to a connection are removed when it is returned to the pool. */
+      httpClient =
+          httpClient.doOnRequest(
+              (request, connection) ->
+                  connection.addHandlerLast(
+                      new ReadTimeoutHandler(socketMillis, TimeUnit.MILLISECONDS)));
+    }
+    return httpClient;
+  }
+
+  /** The connection pool of the web client, whose connections are closed with the context. */
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider secureWebClientConnections() {
+    return ConnectionProvider.fixed(
+        "secure-web-client",
+        client.getMaxConnectionsPerRoute(),
+        client.getLeaseTimeout().toMillis());
+  }
+
+  private SslContext sslContext() {
+    return new JdkSslContext(
+        reloadingSslContext.asSslContext(),
+        true,
+        null,
+        IdentityCipherSuiteFilter.INSTANCE,
+        null,
+        ClientAuth.NONE,
+        null,
+        false);
+  }
+
+  /**
+   * Reactor Netty always asks the engine to verify hostnames, before this runs. The engine ignores
+   * a null algorithm, so verification is turned off with an empty one.
+   */
+  private void verifyHostname(SslHandler handler) {
+    SSLEngine engine = handler.engine();
+    SSLParameters parameters = engine.getSSLParameters();
+    parameters.setEndpointIdentificationAlgorithm(config.isVerify() ? "HTTPS" : "");
+    engine.setSSLParameters(parameters);
+  }
+
+  /**
+   * Creates a WebClient that is configured for SSL, with pooled connections, from the Spring Boot
+   * WebClient builder, so the application's codecs and customizers still apply.
+   */
+  @Bean
+  public WebClient webClient(WebClient.Builder webClientBuilder) {
+    return webClientBuilder
+        .clientConnector(new ReactorClientHttpConnector(httpClient()))
+        .filter(new OutboundLoggingFilter(client, failures))
+        .build();
+  }
+}
@@ -0,0 +1,45 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the mapper shared by callers of the static {@link JacksonConfig} accessors, along with the
+ * readers and writers created from it. The mapper is created on first use. Readers and writers are
+ * immutable and thread-safe. They are created once per type, which also resolves and caches the
+ * (de)serializers for the type.
+ */
+final class SharedMapper {
+  private static final ObjectMapper MAPPER = JacksonConfig.createMapper();
+
+  private static final Map<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+  private static final Map<JavaType, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+  private SharedMapper() {}
+
+  static ObjectMapper mapper() {
+    return MAPPER;
+  }
+
+  static ObjectReader readerFor(Class<?> type) {
+    return readerFor(MAPPER.constructType(type));
+  }
+
+  static ObjectReader readerFor(JavaType type) {
+    return READERS.computeIfAbsent(type, MAPPER::readerFor);
+  }
+
+  static ObjectReader readerForListOf(Class<?> type) {
+    return readerFor(MAPPER.getTypeFactory().constructCollectionType(List.class, type));
+  }
+
+  static ObjectWriter writerFor(Class<?> type) {
+    return WRITERS.computeIfAbsent(MAPPER.constructType(type), MAPPER::writerFor);
+  }
+}
@@ -1,5 +1,6 @@
 package gov.va.api.health.autoconfig.configuration;
 
+import java.time.Duration;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,7 +21,14 @@ import org.springframework.context.annotation.Configuration;
  * ssl.use-trust-store=true
  * ssl.trust-store=file:certs/system/DVP-NONPROD-truststore.jks
  * ssl.trust-store-password=secret
+ * ssl.session-cache-size=1000
+ * ssl.session-timeout=1h
+ * ssl.reload-interval=1m
  * </pre>
+ *
+ * <p>Clients with the same properties share a TLS session cache, see {@link ReloadingSslContext}. A
+ * session cache size or timeout of zero uses the JDK default. Key and trust store files are checked
+ * for changes every reload interval, or never if it is not set or zero.
  */
 @SuppressWarnings("DefaultAnnotationParam")
 @Configuration
@@ -41,16 +49,7 @@ public class SslClientProperties {
   private boolean useTrustStore;
   private String trustStore;
   private String trustStorePassword;
-
-  char[] clientKeyPassword() {
-    return getClientKeyPassword().toCharArray();
-  }
-
-  char[] keyStorePassword() {
-    return getKeyStorePassword().toCharArray();
-  }
-
-  char[] trustStorePassword() {
-    return getTrustStorePassword().toCharArray();
-  }
+  private int sessionCacheSize;
+  @Builder.Default private Duration sessionTimeout = Duration.ZERO;
+  private Duration reloadInterval;
 }
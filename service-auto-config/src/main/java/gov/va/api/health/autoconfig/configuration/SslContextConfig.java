@@ -0,0 +1,23 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This provides the SSL context of the rest templates of {@link SecureRestTemplateConfig} and the
+ * web client of {@link SecureWebClientConfig}, per {@link SslClientProperties}. It is shared with
+ * other application contexts that have the same properties, and its stores are checked for changes
+ * until every application context using it is closed.
+ */
+@Configuration
+public class SslContextConfig {
+  /** Reloads are not counted if the application does not have a meter registry. */
+  @Bean
+  public ReloadingSslContext reloadingSslContext(
+      SslClientProperties config, ObjectProvider<MeterRegistry> registry) {
+    return ReloadingSslContext.shared(config, registry.getIfAvailable(CompositeMeterRegistry::new));
+  }
+}
@@ -0,0 +1,119 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A response body whose entries are produced while the response is written, e.g. from a database
+ * cursor or page by page from another service. Entries are written as a JSON array, or as an array
+ * property of an envelope such as a FHIR Bundle, by the {@link StreamingJsonHttpMessageConverter}.
+ * Only the current entry, or page, is held in memory. The source of the entries is closed when the
+ * response is complete.
+ *
+ * <pre>
+ * &#64;GetMapping("/Patient")
+ * public StreamingBody&lt;Patient&gt; search(&#64;RequestParam String name) {
+ *   return StreamingBody.of(repository.streamByName(name)).in(bundle(name), "entry");
+ * }
+ * </pre>
+ */
+public final class StreamingBody<T> implements AutoCloseable {
+  private final Iterator<? extends T> entries;
+
+  private final Stream<?> source;
+
+  private final Object envelope;
+
+  private final String field;
+
+  private StreamingBody(
+      Iterator<? extends T> entries, Stream<?> source, Object envelope, String field) {
+    this.entries = entries;
+    this.source = source;
+    this.envelope = envelope;
+    this.field = field;
+  }
+
+  /** Write the entries of the iterator. */
+  public static <T> StreamingBody<T> of(Iterator<? extends T> entries) {
+    return new StreamingBody<>(entries, null, null, null);
+  }
+
+  /** Write the entries of the stream, which is closed when the response is complete. */
+  public static <T> StreamingBody<T> of(Stream<? extends T> entries) {
+    return new StreamingBody<>(entries.iterator(), entries, null, null);
+  }
+
+  /**
+   * Write the entries of each page, requesting the next page when the previous one has been
+   * written. A null or empty page ends the entries.
+   */
+  public static <T> StreamingBody<T> ofPages(Supplier<? extends Collection<? extends T>> pages) {
+    return new StreamingBody<>(new Pages<>(pages), null, null, null);
+  }
+
+  @Override
+  public void close() {
+    if (source != null) {
+      source.close();
+    }
+  }
+
+  Iterator<? extends T> entries() {
+    return entries;
+  }
+
+  Object envelope() {
+    return envelope;
+  }
+
+  String field() {
+    return field;
+  }
+
+  /**
+   * Write the entries as the given array property of the envelope. Other properties of the envelope
+   * are written first, with the same settings as any other response.
+   */
+  public StreamingBody<T> in(Object envelope, String field) {
+    return new StreamingBody<>(entries, source, envelope, field);
+  }
+
+  /** Iterates pages, only requesting the next page once the current one is exhausted. */
+  private static final class Pages<T> implements Iterator<T> {
+    private final Supplier<? extends Collection<? extends T>> pages;
+
+    private Iterator<? extends T> page = Collections.emptyIterator();
+
+    private boolean done;
+
+    Pages(Supplier<? extends Collection<? extends T>> pages) {
+      this.pages = pages;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!done && !page.hasNext()) {
+        Collection<? extends T> next = pages.get();
+        if (next == null || next.isEmpty()) {
+          done = true;
+        } else {
+          page = next.iterator();
+        }
+      }
+      return !done;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return page.next();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes {@link StreamingBody} responses as JSON, one entry at a time, with the given mapper. The
+ * response has no content length, so it is sent with chunked transfer encoding. The response is
+ * flushed after the first entry so that clients receive the first bytes without waiting for the
+ * rest of the entries. After that, output is sent whenever the response buffer is full.
+ *
+ * <p>If producing an entry fails, the response has already been committed and its status cannot be
+ * changed. What was written is flushed, without closing the open arrays and objects, and the
+ * exception is rethrown, which aborts the response. Clients see an incomplete response instead of a
+ * truncated but valid one. The generator is always closed, returning its buffers, but the response
+ * stream is left for the servlet container to close.
+ */
+public class StreamingJsonHttpMessageConverter
+    extends AbstractHttpMessageConverter<StreamingBody<?>> {
+  private final ObjectMapper mapper;
+
+  private final ObjectWriter writer;
+
+  /** Create a converter that writes entries with the mapper's settings. */
+  public StreamingJsonHttpMessageConverter(ObjectMapper mapper) {
+    super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    this.mapper = mapper;
+    writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @Override
+  protected boolean canRead(MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected StreamingBody<?> readInternal(
+      Class<? extends StreamingBody<?>> type, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Streaming bodies cannot be read", inputMessage);
+  }
+
+  @Override
+  protected boolean supports(Class<?> type) {
+    return StreamingBody.class.isAssignableFrom(type);
+  }
+
+  private void writeEnvelopeStart(JsonGenerator generator, StreamingBody<?> body)
+      throws IOException {
+    ObjectNode envelope = mapper.valueToTree(body.envelope());
+    envelope.remove(body.field());
+    generator.writeStartObject();
+    Iterator<Map.Entry<String, JsonNode>> fields = envelope.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      generator.writeFieldName(field.getKey());
+      writer.writeValue(generator, field.getValue());
+    }
+    generator.writeFieldName(body.field());
+  }
+
+  @Override
+  protected void writeInternal(StreamingBody<?> body, HttpOutputMessage outputMessage)
+      throws IOException {
+    try (body;
+        JsonGenerator generator =
+            mapper
+                .getFactory()
+                .createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+      if (body.envelope() != null) {
+        writeEnvelopeStart(generator, body);
+      }
+      generator.writeStartArray();
+      Iterator<?> entries = body.entries();
+      boolean first = true;
+      while (entries.hasNext()) {
+        writer.writeValue(generator, entries.next());
+        if (first) {
+          generator.flush();
+          first = false;
+        }
+      }
+      generator.writeEndArray();
+      if (body.envelope() != null) {
+        generator.writeEndObject();
+      }
+    }
+  }
+}
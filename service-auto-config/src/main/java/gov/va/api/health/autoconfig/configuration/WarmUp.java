@@ -0,0 +1,16 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Types in the application's packages with this annotation have their Jackson serializers and
+ * deserializers resolved at startup when {@code jackson.warm-up-enabled=true}. Annotate the types
+ * that requests and responses are bound to. Types they refer to are resolved with them. See {@link
+ * JacksonWarmUp}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WarmUp {}
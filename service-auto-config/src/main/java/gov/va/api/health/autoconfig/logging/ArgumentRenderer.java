@@ -0,0 +1,276 @@
+package gov.va.api.health.autoconfig.logging;
+
+import java.lang.reflect.Array;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders method arguments for ENTER messages within a bounded length. Rendering stops as soon as
+ * the maximum length is reached, and arrays, collections, maps, and optionals are rendered element
+ * by element to a maximum depth instead of using their toString(). The rendering strategy for each
+ * type is resolved once and cached.
+ *
+ * <p>Other types are rendered with their toString(), which is built in full, and may walk an entire
+ * object graph, before it is truncated. With {@code loggable.arguments-use-to-string=false} they
+ * are rendered as their simple type name instead. Applications can register compact renderers for
+ * them, e.g. for request bodies.
+ *
+ * <pre>
+ * &#64;Autowired
+ * void compactPatients(ArgumentRenderer renderer) {
+ *   renderer.register(Patient.class, p -&gt; "Patient/" + p.id());
+ * }
+ * </pre>
+ */
+@Component
+public class ArgumentRenderer {
+  private static final String TRUNCATED = "...";
+
+  private final int maxLength;
+
+  private final int maxDepth;
+
+  private final boolean useToString;
+
+  private final List<Registration<?>> registrations = new CopyOnWriteArrayList<>();
+
+  /** Replaced, rather than cleared, when renderers are registered so lookups never race. */
+  private volatile Map<Class<?>, Strategy> strategies = new ConcurrentHashMap<>();
+
+  /** Create a renderer with limits from the properties. */
+  @Autowired
+  public ArgumentRenderer(LoggableProperties properties) {
+    maxLength = properties.getArgumentsMaxLength();
+    maxDepth = properties.getArgumentsMaxDepth();
+    useToString = properties.isArgumentsUseToString();
+  }
+
+  private static boolean isScalar(Class<?> type) {
+    return type.isPrimitive()
+        || Number.class.isAssignableFrom(type)
+        || Boolean.class == type
+        || Character.class == type
+        || Enum.class.isAssignableFrom(type)
+        || TemporalAccessor.class.isAssignableFrom(type)
+        || UUID.class == type
+        || Class.class == type;
+  }
+
+  private void array(Output out, Object array, int depth) {
+    int length = Array.getLength(array);
+    elements(out, depth, length, '[', ']', new ArrayElements(array, length));
+  }
+
+  private void elements(
+      Output out, int depth, int size, char open, char close, Iterable<?> elements) {
+    if (depth >= maxDepth) {
+      out.append(open).append(Integer.toString(size)).append(" items").append(close);
+      return;
+    }
+    out.append(open);
+    boolean first = true;
+    for (Object element : elements) {
+      if (out.full()) {
+        return;
+      }
+      if (!first) {
+        out.append(", ");
+      }
+      first = false;
+      render(out, element, depth + 1);
+    }
+    out.append(close);
+  }
+
+  private void map(Output out, Map<?, ?> map, int depth) {
+    if (depth >= maxDepth) {
+      out.append('{').append(Integer.toString(map.size())).append(" entries}");
+      return;
+    }
+    out.append('{');
+    boolean first = true;
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      if (out.full()) {
+        return;
+      }
+      if (!first) {
+        out.append(", ");
+      }
+      first = false;
+      render(out, entry.getKey(), depth + 1);
+      out.append('=');
+      render(out, entry.getValue(), depth + 1);
+    }
+    out.append('}');
+  }
+
+  /**
+   * Register a compact renderer for a type and its subtypes. Renderers registered first take
+   * precedence.
+   */
+  public <T> ArgumentRenderer register(Class<T> type, Function<? super T, String> renderer) {
+    registrations.add(new Registration<>(type, renderer));
+    strategies = new ConcurrentHashMap<>();
+    return this;
+  }
+
+  /** Render the arguments similar to Arrays.toString(), but within the configured limits. */
+  public String render(Object[] arguments) {
+    if (arguments == null) {
+      return "null";
+    }
+    Output out = new Output(maxLength);
+    elements(out, -1, arguments.length, '[', ']', new ArrayElements(arguments, arguments.length));
+    return out.toString();
+  }
+
+  private void render(Output out, Object value, int depth) {
+    if (value == null) {
+      out.append("null");
+      return;
+    }
+    strategies.computeIfAbsent(value.getClass(), this::resolve).render(out, value, depth);
+  }
+
+  /** Determine how values of the given type are rendered. */
+  @SuppressWarnings("unchecked")
+  private Strategy resolve(Class<?> type) {
+    for (Registration<?> registration : registrations) {
+      if (registration.type().isAssignableFrom(type)) {
+        Function<Object, String> renderer = (Function<Object, String>) registration.renderer();
+        return (out, value, depth) -> out.append(renderer.apply(value));
+      }
+    }
+    if (CharSequence.class.isAssignableFrom(type)) {
+      return (out, value, depth) -> out.append((CharSequence) value);
+    }
+    if (isScalar(type)) {
+      return (out, value, depth) -> out.append(String.valueOf(value));
+    }
+    if (type.isArray()) {
+      return this::array;
+    }
+    if (Collection.class.isAssignableFrom(type)) {
+      return (out, value, depth) -> {
+        Collection<?> collection = (Collection<?>) value;
+        elements(out, depth, collection.size(), '[', ']', collection);
+      };
+    }
+    if (Map.class.isAssignableFrom(type)) {
+      return (out, value, depth) -> map(out, (Map<?, ?>) value, depth);
+    }
+    if (Optional.class == type) {
+      return (out, value, depth) -> {
+        out.append("Optional[");
+        render(out, ((Optional<?>) value).orElse(null), depth);
+        out.append(']');
+      };
+    }
+    if (useToString) {
+      return (out, value, depth) -> out.append(value.toString());
+    }
+    String name = type.getSimpleName();
+    return (out, value, depth) -> out.append(name);
+  }
+
+  private interface Strategy {
+    void render(Output out, Object value, int depth);
+  }
+
+  /** Iterates the elements of an object or primitive array. */
+  private static final class ArrayElements implements Iterable<Object> {
+    private final Object array;
+
+    private final int length;
+
+    ArrayElements(Object array, int length) {
+      this.array = array;
+      this.length = length;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+      return new Iterator<>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return index < length;
+        }
+
+        @Override
+        public Object next() {
+          return Array.get(array, index++);
+        }
+      };
+    }
+  }
+
+  /**
+   * A string builder that stops accepting characters once the limit is reached and marks the result
+   * as truncated.
+   */
+  private static final class Output {
+    private final StringBuilder sb;
+
+    private final int limit;
+
+    private boolean truncated;
+
+    Output(int limit) {
+      this.limit = limit;
+      sb = new StringBuilder(Math.min(limit, 64) + TRUNCATED.length());
+    }
+
+    Output append(char c) {
+      if (!full()) {
+        sb.append(c);
+      }
+      return this;
+    }
+
+    Output append(CharSequence chars) {
+      if (truncated) {
+        return this;
+      }
+      int remaining = limit - sb.length();
+      if (chars.length() <= remaining) {
+        sb.append(chars);
+      } else {
+        sb.append(chars, 0, Math.max(remaining, 0));
+        truncated = true;
+      }
+      return this;
+    }
+
+    /** Return true, and mark the output truncated, if no more characters will fit. */
+    boolean full() {
+      if (sb.length() >= limit) {
+        truncated = true;
+      }
+      return truncated;
+    }
+
+    @Override
+    public String toString() {
+      return truncated ? sb.append(TRUNCATED).toString() : sb.toString();
+    }
+  }
+
+  @Value
+  private static class Registration<T> {
+    Class<T> type;
+    Function<? super T, String> renderer;
+  }
+}
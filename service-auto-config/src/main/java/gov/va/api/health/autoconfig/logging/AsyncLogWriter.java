@@ -0,0 +1,273 @@
+package gov.va.api.health.autoconfig.logging;
+
+import gov.va.api.health.autoconfig.logging.LoggableProperties.Overflow;
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes ENTER and LEAVE messages on a background thread. Loggable methods publish small events
+ * into a bounded, lock-free ring of pre-allocated slots and a single consumer thread formats them
+ * and invokes the appenders. When the ring is full, messages are either dropped or the publishing
+ * thread waits for room, see {@link LoggableProperties#getAsyncOverflow()}. The consumer thread
+ * sleeps while the ring is empty and is woken by the next message.
+ *
+ * <p>Messages are formatted and written by the consumer thread, so log patterns that include the
+ * thread name will report it instead of the request thread. The ID in each message still correlates
+ * them. Arguments are rendered when the message is written, so an argument that is modified after
+ * the method returns may be logged with its modified value. Timings are copied when published.
+ *
+ * <p>This is enabled with the property {@code loggable.async-enabled=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "loggable.async-enabled", havingValue = "true")
+public class AsyncLogWriter implements LogWriter, MeterBinder, DisposableBean {
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final Overflow overflow;
+
+  private final int capacity;
+
+  private final int mask;
+
+  private final Event[] events;
+
+  /**
+   * Each slot's sequence indicates whether it can be claimed by a producer (sequence equals the
+   * producer position) or read by the consumer (sequence is one past the consumer position).
+   */
+  private final AtomicLongArray sequences;
+
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Only modified by the consumer thread. */
+  private final AtomicLong head = new AtomicLong();
+
+  private final LongAdder dropped = new LongAdder();
+
+  private final LogWriter direct;
+
+  private final Thread consumer;
+
+  private volatile boolean running;
+
+  /** Set by the consumer thread before it sleeps, so producers know to wake it. */
+  private volatile boolean idle;
+
+  /**
+   * Create a writer with a buffer sized from the properties, rounded up to a power of two, that
+   * renders arguments with the given renderer.
+   */
+  @Autowired
+  public AsyncLogWriter(LoggableProperties properties, ArgumentRenderer renderer) {
+    direct = LogWriter.direct(renderer);
+    overflow = properties.getAsyncOverflow();
+    capacity = Integer.highestOneBit(Math.max(properties.getAsyncCapacity() - 1, 1)) << 1;
+    mask = capacity - 1;
+    events = new Event[capacity];
+    sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      events[i] = new Event();
+      sequences.set(i, i);
+    }
+    consumer = new Thread(this::consume, "loggable-async-writer");
+    consumer.setDaemon(true);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("loggable.async.dropped", this, AsyncLogWriter::dropped)
+        .description("Loggable messages discarded because the asynchronous buffer was full")
+        .register(registry);
+    Gauge.builder("loggable.async.pending", this, AsyncLogWriter::pending)
+        .description("Loggable messages waiting to be written")
+        .register(registry);
+  }
+
+  /** Return the size of the ring buffer. */
+  public int capacity() {
+    return capacity;
+  }
+
+  private void consume() {
+    while (running || pending() > 0) {
+      if (!writeNext()) {
+        idle = true;
+        /* A message published after this check will see idle and unpark. */
+        if (running && pending() == 0) {
+          LockSupport.park(this);
+        }
+        idle = false;
+      }
+    }
+  }
+
+  /** Stop accepting messages and write any that are still buffered. */
+  @Override
+  public void destroy() throws InterruptedException {
+    running = false;
+    LockSupport.unpark(consumer);
+    consumer.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  /** Return the number of messages that have been discarded because the buffer was full. */
+  public long dropped() {
+    return dropped.sum();
+  }
+
+  /** Publish an ENTER message. */
+  @Override
+  public void enter(LoggableMethod method, String id, int level, Object[] arguments) {
+    publish(Kind.ENTER, method, id, level, 0, arguments, null, "");
+  }
+
+  /** Publish a LEAVE message. */
+  @Override
+  public void leave(
+      LoggableMethod method,
+      String id,
+      int level,
+      long elapsedNanos,
+      TimingChain timings,
+      String exception) {
+    publish(
+        Kind.LEAVE,
+        method,
+        id,
+        level,
+        elapsedNanos,
+        null,
+        timings == null ? null : timings.snapshot(),
+        exception);
+  }
+
+  /** Return the approximate number of messages waiting to be written. */
+  public long pending() {
+    return Math.max(tail.get() - head.get(), 0);
+  }
+
+  private void publish(
+      Kind kind,
+      LoggableMethod method,
+      String id,
+      int level,
+      long nanos,
+      Object[] arguments,
+      TimingChain timings,
+      String exception) {
+    while (running) {
+      long position = tail.get();
+      int index = (int) (position & mask);
+      long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          events[index].set(kind, method, id, level, nanos, arguments, timings, exception);
+          sequences.lazySet(index, position + 1);
+          if (idle) {
+            LockSupport.unpark(consumer);
+          }
+          return;
+        }
+      } else if (available < 0) {
+        if (overflow == Overflow.DROP) {
+          break;
+        }
+        LockSupport.parkNanos(FULL_PARK_NANOS);
+      }
+    }
+    dropped.increment();
+  }
+
+  /** Start the consumer thread. */
+  @PostConstruct
+  public void start() {
+    running = true;
+    consumer.start();
+  }
+
+  /** Write the next event if one is available, returning false if the buffer is empty. */
+  private boolean writeNext() {
+    long position = head.get();
+    int index = (int) (position & mask);
+    if (sequences.get(index) != position + 1) {
+      return false;
+    }
+    Event event = events[index];
+    try {
+      event.write(direct);
+    } catch (RuntimeException e) {
+      log.warn("Failed to write loggable message: {}", e.getMessage());
+    } finally {
+      event.clear();
+      sequences.lazySet(index, position + capacity);
+      head.lazySet(position + 1);
+    }
+    return true;
+  }
+
+  private enum Kind {
+    ENTER,
+    LEAVE
+  }
+
+  /** A reusable slot in the ring buffer. */
+  private static final class Event {
+    private Kind kind;
+    private LoggableMethod method;
+    private String id;
+    private int level;
+    private long nanos;
+    private Object[] arguments;
+    private TimingChain timings;
+    private String exception;
+
+    void clear() {
+      method = null;
+      id = null;
+      arguments = null;
+      timings = null;
+      exception = null;
+    }
+
+    void set(
+        Kind kind,
+        LoggableMethod method,
+        String id,
+        int level,
+        long nanos,
+        Object[] arguments,
+        TimingChain timings,
+        String exception) {
+      this.kind = kind;
+      this.method = method;
+      this.id = id;
+      this.level = level;
+      this.nanos = nanos;
+      this.arguments = arguments;
+      this.timings = timings;
+      this.exception = exception;
+    }
+
+    void write(LogWriter writer) {
+      if (kind == Kind.ENTER) {
+        writer.enter(method, id, level, arguments);
+      } else {
+        writer.leave(method, id, level, nanos, timings, exception);
+      }
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package gov.va.api.health.autoconfig.logging;
+
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+import java.util.Arrays;
+
+/**
+ * A fixed capacity, reusable buffer of the ENTER and LEAVE messages of one logging chain. When
+ * sampling, messages are held here until the top of the chain completes and it is known whether the
+ * chain should be logged. Method arguments are kept by reference and only rendered if the buffer is
+ * written. Messages beyond the capacity are counted and discarded.
+ */
+final class LogBuffer {
+  /** The maximum number of messages buffered for a single logging chain. */
+  static final int CAPACITY = 256;
+
+  private final boolean[] enters = new boolean[CAPACITY];
+
+  private final LoggableMethod[] methods = new LoggableMethod[CAPACITY];
+
+  private final int[] levels = new int[CAPACITY];
+
+  private final long[] nanos = new long[CAPACITY];
+
+  private final Object[][] arguments = new Object[CAPACITY][];
+
+  private final String[] exceptions = new String[CAPACITY];
+
+  private int size;
+
+  private int dropped;
+
+  /** Return the number of messages that could not be buffered. */
+  int dropped() {
+    return dropped;
+  }
+
+  /** Buffer an ENTER message. Arguments may be null if they are not to be logged. */
+  void enter(LoggableMethod method, int level, Object[] args) {
+    if (slot(method, level)) {
+      enters[size] = true;
+      arguments[size] = args;
+      size++;
+    }
+  }
+
+  /** Buffer a LEAVE message. */
+  void leave(LoggableMethod method, int level, long elapsedNanos, String exception) {
+    if (slot(method, level)) {
+      enters[size] = false;
+      nanos[size] = elapsedNanos;
+      exceptions[size] = exception;
+      size++;
+    }
+  }
+
+  /** Forget all messages and references so this instance can be used for a new logging chain. */
+  LogBuffer reset() {
+    Arrays.fill(methods, 0, size, null);
+    Arrays.fill(arguments, 0, size, null);
+    Arrays.fill(exceptions, 0, size, null);
+    size = 0;
+    dropped = 0;
+    return this;
+  }
+
+  /** Return the number of messages buffered. */
+  int size() {
+    return size;
+  }
+
+  private boolean slot(LoggableMethod method, int level) {
+    if (size == CAPACITY) {
+      dropped++;
+      return false;
+    }
+    methods[size] = method;
+    levels[size] = level;
+    return true;
+  }
+
+  /**
+   * Write the buffered messages in order. The timings are included with the LEAVE message of the
+   * top of the chain.
+   */
+  void writeTo(LogWriter writer, String id, TimingChain timings) {
+    for (int i = 0; i < size; i++) {
+      if (enters[i]) {
+        writer.enter(methods[i], id, levels[i], arguments[i]);
+      } else {
+        writer.leave(
+            methods[i], id, levels[i], nanos[i], levels[i] == 1 ? timings : null, exceptions[i]);
+      }
+    }
+  }
+}
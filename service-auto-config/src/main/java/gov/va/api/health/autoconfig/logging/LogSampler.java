@@ -0,0 +1,125 @@
+package gov.va.api.health.autoconfig.logging;
+
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides whether a logging chain is buffered and whether a buffered chain is written. Chains that
+ * fail or take at least the slow threshold are always written, others are written at the sample
+ * rate.
+ *
+ * <p>The time spent by the aspect itself is compared to the time spent in the logging chains. If
+ * the overhead exceeds the budget, chains are sampled even if sampling is not enabled until the
+ * overhead is back within budget.
+ */
+@Slf4j
+final class LogSampler {
+  private static final long EVALUATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final boolean samplingEnabled;
+
+  private final long slowThresholdNanos;
+
+  private final double rate;
+
+  private final double overheadBudget;
+
+  private final LongAdder overheadNanos = new LongAdder();
+
+  private final LongAdder chainNanos = new LongAdder();
+
+  private final AtomicLong nextEvaluation;
+
+  private volatile boolean overBudget;
+
+  LogSampler(LoggableProperties properties) {
+    samplingEnabled = properties.isSamplingEnabled();
+    slowThresholdNanos = properties.getSamplingSlowThreshold().toNanos();
+    rate = properties.getSamplingRate();
+    overheadBudget = properties.getSamplingOverheadBudget();
+    nextEvaluation = new AtomicLong(System.nanoTime() + EVALUATION_INTERVAL_NANOS);
+  }
+
+  /** Return a sampler if sampling or an overhead budget is configured, otherwise null. */
+  static LogSampler of(LoggableProperties properties) {
+    if (properties.isSamplingEnabled() || properties.getSamplingOverheadBudget() > 0) {
+      return new LogSampler(properties);
+    }
+    return null;
+  }
+
+  /** Return true if new logging chains should be buffered. */
+  boolean buffering() {
+    return samplingEnabled || overBudget;
+  }
+
+  /** Compare the overhead to the budget and start a new measurement window. */
+  void evaluate() {
+    long overhead = overheadNanos.sumThenReset();
+    long chains = chainNanos.sumThenReset();
+    if (overheadBudget <= 0 || chains <= 0) {
+      return;
+    }
+    double ratio = (double) overhead / chains;
+    boolean exceeded = ratio > overheadBudget;
+    if (exceeded == overBudget) {
+      return;
+    }
+    overBudget = exceeded;
+    if (exceeded) {
+      log.warn(
+          "Loggable overhead is {} of execution time, exceeding budget of {}, sampling is enabled",
+          ratio,
+          overheadBudget);
+    } else {
+      log.info(
+          "Loggable overhead is {} of execution time, within budget of {}, sampling is {}",
+          ratio,
+          overheadBudget,
+          samplingEnabled ? "enabled" : "disabled");
+    }
+  }
+
+  /** Return true if the sampler is currently sampling because of excessive overhead. */
+  boolean overBudget() {
+    return overBudget;
+  }
+
+  /**
+   * Record time spent by the aspect and, for the top of a logging chain, the total time of the
+   * chain. The overhead is periodically evaluated against the budget.
+   */
+  void recordOverhead(long aspectNanos, long topOfChainNanos) {
+    if (overheadBudget <= 0) {
+      return;
+    }
+    overheadNanos.add(aspectNanos);
+    if (topOfChainNanos > 0) {
+      chainNanos.add(topOfChainNanos);
+      long now = System.nanoTime();
+      long next = nextEvaluation.get();
+      if (now - next >= 0 && nextEvaluation.compareAndSet(next, now + EVALUATION_INTERVAL_NANOS)) {
+        evaluate();
+      }
+    }
+  }
+
+  /**
+   * Return true if a buffered logging chain should be written. The slow threshold of the top of the
+   * chain may be overridden with {@link Loggable#slowThresholdMillis()}.
+   */
+  boolean shouldWrite(LoggableMethod top, long elapsedNanos, boolean failed) {
+    if (failed) {
+      return true;
+    }
+    long threshold = slowThresholdNanos;
+    if (top.annotation() != null && top.annotation().slowThresholdMillis() >= 0) {
+      threshold = TimeUnit.MILLISECONDS.toNanos(top.annotation().slowThresholdMillis());
+    }
+    return elapsedNanos >= threshold || ThreadLocalRandom.current().nextDouble() < rate;
+  }
+}
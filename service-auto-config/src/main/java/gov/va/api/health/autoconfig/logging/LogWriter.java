@@ -0,0 +1,64 @@
+package gov.va.api.health.autoconfig.logging;
+
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+
+/**
+ * Writes the ENTER and LEAVE messages of loggable methods. Arguments and timings are given as they
+ * were captured so that writers can defer formatting them until the message is written.
+ */
+interface LogWriter {
+  /**
+   * Return a writer that formats and writes messages immediately on the calling thread using the
+   * method's logger.
+   */
+  static LogWriter direct(ArgumentRenderer renderer) {
+    return new LogWriter() {
+      @Override
+      public void enter(LoggableMethod method, String id, int level, Object[] arguments) {
+        method
+            .log()
+            .info(
+                "ENTER {} {} {} {}",
+                id,
+                level,
+                method.method().getName(),
+                arguments == null ? "" : renderer.render(arguments));
+      }
+
+      @Override
+      public void leave(
+          LoggableMethod method,
+          String id,
+          int level,
+          long elapsedNanos,
+          TimingChain timings,
+          String exception) {
+        method
+            .log()
+            .info(
+                "LEAVE {} {} {} {} ms {} {}",
+                id,
+                level,
+                method.method().getName(),
+                TimingChain.millis(elapsedNanos),
+                timings == null ? "" : timings.summary(1),
+                exception);
+      }
+    };
+  }
+
+  /** Write an ENTER message. Arguments are null if they are not to be logged. */
+  void enter(LoggableMethod method, String id, int level, Object[] arguments);
+
+  /**
+   * Write a LEAVE message. Timings are given at the top of a logging chain only, and are summarized
+   * excluding the method itself. They are otherwise null.
+   */
+  void leave(
+      LoggableMethod method,
+      String id,
+      int level,
+      long elapsedNanos,
+      TimingChain timings,
+      String exception);
+}
@@ -24,4 +24,10 @@ public @interface Loggable {
 
   /** Log LEAVE messages. */
   boolean leave() default true;
+
+  /**
+   * When sampling, logging chains started by this method that take at least this many milliseconds
+   * are always logged. Negative values use the {@code loggable.sampling-slow-threshold} property.
+   */
+  long slowThresholdMillis() default -1;
 }
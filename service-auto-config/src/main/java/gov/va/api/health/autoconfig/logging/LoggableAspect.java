@@ -0,0 +1,61 @@
+package gov.va.api.health.autoconfig.logging;
+
+import org.aspectj.lang.Aspects;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Advises loggable methods with the {@link MethodExecutionLogger}. By default, this aspect is
+ * applied with Spring AOP proxies. If the AspectJ weaver is attached as a Java agent, e.g. with the
+ * service-starter {@code loggable-weaving} profile, this aspect is woven into the bytecode of
+ * loggable methods as they are loaded per {@code META-INF/aop.xml}. Woven methods do not need
+ * proxies and are also logged when invoked by their own instance.
+ *
+ * <p>Only non-private, non-static methods are advised in either mode, matching what proxies can
+ * intercept.
+ */
+@Aspect
+public class LoggableAspect {
+  private volatile MethodExecutionLogger logger;
+
+  /**
+   * Return the aspect for the logger. If this aspect was woven, the woven instance is bound to the
+   * logger and Spring AOP ignores it. Otherwise, a new instance is returned for Spring AOP to
+   * apply.
+   */
+  public static LoggableAspect bind(MethodExecutionLogger logger) {
+    LoggableAspect aspect =
+        Aspects.hasAspect(LoggableAspect.class)
+            ? Aspects.aspectOf(LoggableAspect.class)
+            : new LoggableAspect();
+    aspect.logger = logger;
+    return aspect;
+  }
+
+  /**
+   * Log methods of Loggable types and methods annotated with Loggable, GetMapping, or PostMapping.
+   * Woven methods invoked before the logger is bound, e.g. during startup, are not logged.
+   */
+  @Around(
+      "execution(!private !static * *(..))"
+          + "&& (within(@gov.va.api.health.autoconfig.logging.Loggable *)"
+          + "  || @annotation(gov.va.api.health.autoconfig.logging.Loggable)"
+          + "  || @annotation(org.springframework.web.bind.annotation.GetMapping)"
+          + "  || @annotation(org.springframework.web.bind.annotation.PostMapping))")
+  public Object log(ProceedingJoinPoint point) throws Throwable {
+    MethodExecutionLogger bound = logger;
+    return bound == null ? point.proceed() : bound.log(point);
+  }
+
+  /** Return the logger this aspect is bound to, or null if it is not bound yet. */
+  public MethodExecutionLogger logger() {
+    return logger;
+  }
+
+  /** Return true if this aspect has been woven by AspectJ rather than applied with proxies. */
+  public boolean woven() {
+    return Aspects.hasAspect(LoggableAspect.class)
+        && Aspects.aspectOf(LoggableAspect.class) == this;
+  }
+}
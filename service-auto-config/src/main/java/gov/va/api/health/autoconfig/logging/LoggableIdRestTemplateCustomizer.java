@@ -0,0 +1,41 @@
+package gov.va.api.health.autoconfig.logging;
+
+import lombok.AllArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Forwards the ID of the current logging chain to downstream services as a request header, so their
+ * logs can be correlated with this one. This applies to every RestTemplate built from the Spring
+ * Boot RestTemplateBuilder, including the one provided by SecureRestTemplateConfig. The header is
+ * configured with {@code loggable.id-header} and may be disabled by setting it to empty.
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__({@Autowired}))
+public class LoggableIdRestTemplateCustomizer implements RestTemplateCustomizer {
+  private final MethodExecutionLogger logger;
+
+  private final LoggableProperties properties;
+
+  @Override
+  public void customize(RestTemplate restTemplate) {
+    if (StringUtils.isBlank(properties.getIdHeader())) {
+      return;
+    }
+    restTemplate.getInterceptors().add(idInterceptor(properties.getIdHeader()));
+  }
+
+  private ClientHttpRequestInterceptor idInterceptor(String header) {
+    return (request, body, execution) -> {
+      String id = logger.currentId();
+      if (id != null && !request.getHeaders().containsKey(header)) {
+        request.getHeaders().set(header, id);
+      }
+      return execution.execute(request, body);
+    };
+  }
+}
@@ -0,0 +1,47 @@
+package gov.va.api.health.autoconfig.logging;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates logging chain IDs without formatting or contention. Each ID is 16 hex characters: a
+ * random 24 bit salt chosen when the JVM starts followed by a 40 bit sequence. Threads reserve
+ * blocks of the sequence, so IDs are unique within the JVM and the salt makes collisions between
+ * instances unlikely.
+ */
+final class LoggableIds {
+  private static final int BLOCK_SIZE = 1024;
+
+  private static final long SEQUENCE_MASK = (1L << 40) - 1;
+
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+  private static final long SALT = (new SecureRandom().nextInt() & 0xFFFFFFL) << 40;
+
+  private static final AtomicLong BLOCKS = new AtomicLong();
+
+  /** The next sequence number and the end of the block reserved by each thread. */
+  private static final ThreadLocal<long[]> RESERVED = ThreadLocal.withInitial(() -> new long[2]);
+
+  private LoggableIds() {}
+
+  /** Return the given value as 16 upper case hex characters. */
+  static String hex(long value) {
+    char[] chars = new char[16];
+    for (int i = 15; i >= 0; i--) {
+      chars[i] = HEX[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+    return new String(chars);
+  }
+
+  /** Return a new ID. */
+  static String next() {
+    long[] reserved = RESERVED.get();
+    if (reserved[0] == reserved[1]) {
+      reserved[0] = BLOCKS.getAndIncrement() * BLOCK_SIZE;
+      reserved[1] = reserved[0] + BLOCK_SIZE;
+    }
+    return hex(SALT | (reserved[0]++ & SEQUENCE_MASK));
+  }
+}
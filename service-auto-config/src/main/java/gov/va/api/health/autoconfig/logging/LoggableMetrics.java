@@ -0,0 +1,79 @@
+package gov.va.api.health.autoconfig.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records a Micrometer latency timer for each loggable method. Timers are tagged with the fully
+ * qualified class name and the method name, as well as the simple name of the exception thrown or
+ * {@code None}. Percentile histograms and SLA buckets are configured per {@link
+ * LoggableProperties}.
+ *
+ * <p>This is enabled with the property {@code loggable.metrics-enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "loggable.metrics-enabled", havingValue = "true")
+@AllArgsConstructor(onConstructor = @__({@Autowired}))
+public class LoggableMetrics {
+  static final String NO_EXCEPTION = "None";
+
+  private final MeterRegistry registry;
+
+  private final LoggableProperties properties;
+
+  /** Create and register the timers for the given method. */
+  MethodTimer timerFor(Method method) {
+    return new MethodTimer(method);
+  }
+
+  /**
+   * The timers for a single method. The timer for successful invocations is registered immediately.
+   * Timers for exceptions are registered the first time each exception type is thrown.
+   */
+  final class MethodTimer {
+    private final Method method;
+
+    private final Timer success;
+
+    private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+    private MethodTimer(Method method) {
+      this.method = method;
+      success = register(NO_EXCEPTION);
+    }
+
+    /** Record the duration of an invocation that may have thrown an exception. */
+    void record(long elapsedNanos, Throwable thrown) {
+      Timer timer =
+          thrown == null
+              ? success
+              : failures.computeIfAbsent(thrown.getClass(), type -> register(type.getSimpleName()));
+      timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer register(String exception) {
+      Timer.Builder builder =
+          Timer.builder(properties.getMetricsName())
+              .description("Latency of loggable methods")
+              .tag("class", method.getDeclaringClass().getName())
+              .tag("method", method.getName())
+              .tag("exception", exception)
+              .publishPercentileHistogram(properties.isMetricsPercentileHistogram())
+              .sla(properties.getMetricsSla().toArray(new Duration[0]));
+      if (!properties.getMetricsPercentiles().isEmpty()) {
+        builder.publishPercentiles(
+            properties.getMetricsPercentiles().stream().mapToDouble(Double::doubleValue).toArray());
+      }
+      return builder.register(registry);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package gov.va.api.health.autoconfig.logging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application properties for automatic entry/exit logging of loggable methods.
+ *
+ * <pre>
+ * loggable.async-enabled=true
+ * loggable.async-capacity=8192
+ * loggable.async-overflow=DROP
+ * loggable.metrics-enabled=true
+ * loggable.metrics-name=loggable.method
+ * loggable.metrics-percentile-histogram=true
+ * loggable.metrics-percentiles=0.5,0.95,0.99
+ * loggable.metrics-sla=10ms,100ms,1s
+ * loggable.sampling-enabled=true
+ * loggable.sampling-slow-threshold=500ms
+ * loggable.sampling-rate=0.01
+ * loggable.sampling-overhead-budget=0.02
+ * loggable.id-header=X-Loggable-Id
+ * loggable.arguments-max-length=512
+ * loggable.arguments-max-depth=2
+ * loggable.arguments-use-to-string=false
+ * </pre>
+ */
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties("loggable")
+@Data
+@Accessors(fluent = false)
+@NoArgsConstructor
+@Builder
+@AllArgsConstructor
+public class LoggableProperties {
+
+  private boolean asyncEnabled;
+  @Builder.Default private int asyncCapacity = 8192;
+  @Builder.Default private Overflow asyncOverflow = Overflow.DROP;
+  private boolean metricsEnabled;
+  @Builder.Default private String metricsName = "loggable.method";
+  private boolean metricsPercentileHistogram;
+  @Builder.Default private List<Double> metricsPercentiles = new ArrayList<>();
+  @Builder.Default private List<Duration> metricsSla = new ArrayList<>();
+  private boolean samplingEnabled;
+  @Builder.Default private Duration samplingSlowThreshold = Duration.ofSeconds(1);
+  @Builder.Default private double samplingRate = 0.01;
+  private double samplingOverheadBudget;
+  @Builder.Default private String idHeader = "X-Loggable-Id";
+  @Builder.Default private int argumentsMaxLength = 512;
+  @Builder.Default private int argumentsMaxDepth = 2;
+  @Builder.Default private boolean argumentsUseToString = true;
+
+  /** What to do with a log message when the asynchronous buffer is full. */
+  public enum Overflow {
+    /** Discard the message and count it as dropped. */
+    DROP,
+    /** Wait on the calling thread until there is room in the buffer. */
+    BLOCK
+  }
+}
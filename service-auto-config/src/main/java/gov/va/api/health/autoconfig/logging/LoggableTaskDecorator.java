@@ -0,0 +1,32 @@
+package gov.va.api.health.autoconfig.logging;
+
+import java.util.concurrent.Executor;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the logging chain of the submitting thread into tasks run by executors. Unless the
+ * application defines its own TaskDecorator, this is registered by the auto-configuration and
+ * Spring Boot applies it to its auto-configured task executor, e.g. for {@code @Async} methods.
+ * Other executors, such as those given to CompletableFuture, can be wrapped with {@link
+ * #executor(Executor)}. Tasks submitted without a logging chain are run as is.
+ *
+ * <pre>
+ * CompletableFuture.supplyAsync(() -&gt; fetch(id), decorator.executor(pool));
+ * </pre>
+ */
+@AllArgsConstructor(onConstructor = @__({@Autowired}))
+public class LoggableTaskDecorator implements TaskDecorator {
+  private final MethodExecutionLogger logger;
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    return logger.propagate(runnable);
+  }
+
+  /** Return an executor that decorates each task before handing it to the given executor. */
+  public Executor executor(Executor delegate) {
+    return task -> delegate.execute(decorate(task));
+  }
+}
@@ -1,28 +1,44 @@
 package gov.va.api.health.autoconfig.logging;
 
+import gov.va.api.health.autoconfig.logging.LoggableMetrics.MethodTimer;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.Value;
 import lombok.experimental.Delegate;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 
 /**
- * This aspect is used to automatically log entry and exit of Controller methods that are annotated
- * with Loggable or GetRequest.
+ * This is used to automatically log entry and exit of Controller methods that are annotated with
+ * Loggable or GetRequest. Methods are advised by the {@link LoggableAspect}.
  */
-@Aspect
 @Component
-public class MethodExecutionLogger {
+public class MethodExecutionLogger implements ApplicationListener<ContextRefreshedEvent> {
+
+  /**
+   * Logger, method, and annotation lookups are resolved once per advised method and reused for
+   * every invocation thereafter. Entries are never modified once created.
+   */
+  private final Map<Method, LoggableMethod> loggableMethods = new ConcurrentHashMap<>();
 
   /**
    * Some state is shared by loggable methods in the same thread. This is used to track the IDs,
@@ -31,26 +47,113 @@ public class MethodExecutionLogger {
    */
   private final ThreadLocal<SharedState> sharedState = new ThreadLocal<>();
 
+  /**
+   * Timing chains are reused by each thread for every logging chain it starts to avoid allocating
+   * timing records for each loggable method.
+   */
+  private final ThreadLocal<TimingChain> timingChains = ThreadLocal.withInitial(TimingChain::new);
+
+  /** Messages for logging chains that are being sampled are buffered until the chain completes. */
+  private final ThreadLocal<LogBuffer> logBuffers = ThreadLocal.withInitial(LogBuffer::new);
+
+  /** Messages are written immediately or handed off to be written by a background thread. */
+  private final LogWriter writer;
+
+  /** When available, a latency timer is recorded for each method. */
+  private final LoggableMetrics metrics;
+
+  /** When available, logging chains may be buffered and sampled. */
+  private final LogSampler sampler;
+
+  /**
+   * Create a logger that writes messages on the calling thread unless an async writer is given, and
+   * records method latency if metrics are given. Sampling is configured per the properties and
+   * arguments are rendered with the given renderer.
+   */
+  @Autowired
+  public MethodExecutionLogger(
+      LoggableProperties properties,
+      ArgumentRenderer argumentRenderer,
+      Optional<AsyncLogWriter> asyncWriter,
+      Optional<LoggableMetrics> metrics) {
+    this.writer =
+        asyncWriter.map(LogWriter.class::cast).orElseGet(() -> LogWriter.direct(argumentRenderer));
+    this.metrics = metrics.orElse(null);
+    this.sampler = LogSampler.of(properties);
+  }
+
+  /** Return the ID of the logging chain of the calling thread, or null if there is none. */
+  String currentId() {
+    SharedState state = sharedState.get();
+    return state == null ? null : state.id();
+  }
+
+  private void enter(Context context) {
+    if (context.quiet()) {
+      return;
+    }
+    if (context.buffer() != null) {
+      context
+          .buffer()
+          .enter(
+              context.loggable(),
+              context.level(),
+              context.logArguments() ? context.point().getArgs() : null);
+      return;
+    }
+    writer.enter(
+        context.loggable(),
+        context.id(),
+        context.level(),
+        context.logArguments() ? context.point().getArgs() : null);
+  }
+
+  /**
+   * Record the aspect overhead for this invocation. At the top of a buffered logging chain, decide
+   * whether the chain is written or discarded.
+   */
+  private void finishSampling(Context context, long elapsed, Throwable thrown, long proceeding) {
+    if (thrown != null) {
+      context.failed(true);
+    }
+    if (context.startOfLoggingChain() && context.buffer() != null) {
+      if (sampler.shouldWrite(context.loggable(), elapsed, context.failed())) {
+        context.buffer().writeTo(writer, context.id(), context.timings());
+      }
+      context.buffer().reset();
+    }
+    long aspectNanos =
+        (proceeding - context.start()) + (System.nanoTime() - context.start() - elapsed);
+    sampler.recordOverhead(aspectNanos, context.startOfLoggingChain() ? elapsed : 0);
+  }
+
+  private boolean isAdvisedMethod(Method method) {
+    return AnnotatedElementUtils.hasAnnotation(method, Loggable.class)
+        || AnnotatedElementUtils.hasAnnotation(method, GetMapping.class)
+        || AnnotatedElementUtils.hasAnnotation(method, PostMapping.class);
+  }
+
+  /** Return true if metadata for the method has been resolved, e.g. by warming its type. */
+  boolean isResolved(Method method) {
+    return loggableMethods.containsKey(method);
+  }
+
+  private boolean isWarmable(Method method) {
+    int modifiers = method.getModifiers();
+    return Modifier.isPublic(modifiers)
+        && !Modifier.isStatic(modifiers)
+        && !method.isSynthetic()
+        && !method.isBridge();
+  }
+
   /** Log enter and leave messages based on the presence of Loggable or GetMapping annotations. */
-  @Around(
-      "within(@gov.va.api.health.autoconfig.logging.Loggable *)"
-          + "|| (execution(* *(..))"
-          + "  && (@annotation(gov.va.api.health.autoconfig.logging.Loggable)"
-          + "    || @annotation(org.springframework.web.bind.annotation.GetMapping)"
-          + "    || @annotation(org.springframework.web.bind.annotation.PostMapping)))")
   public Object log(ProceedingJoinPoint point) throws Throwable {
     try (Context context = new Context(point)) {
       if (context.logStart()) {
-        context
-            .log()
-            .info(
-                "ENTER {} {} {} {}",
-                context.id(),
-                context.level(),
-                context.method().getName(),
-                context.argumentsAsString());
+        enter(context);
       }
 
+      long proceeding = System.nanoTime();
       Throwable thrown = null;
       try {
         return point.proceed();
@@ -58,32 +161,194 @@ public class MethodExecutionLogger {
         thrown = oops;
         throw oops;
       } finally {
+        long elapsed = context.markTiming();
+        if (context.timer() != null) {
+          context.timer().record(elapsed, thrown);
+        }
         if (context.logEnd()) {
-          context
-              .log()
-              .info(
-                  "LEAVE {} {} {} {} ms {} {}",
-                  context.id(),
-                  context.level(),
-                  context.method().getName(),
-                  context.markTiming(),
-                  context.timingSummary(),
-                  context.exceptionAsString(thrown));
+          leave(context, elapsed, thrown);
+        }
+        if (sampler != null) {
+          finishSampling(context, elapsed, thrown, proceeding);
         }
       }
     }
   }
 
+  private void leave(Context context, long elapsed, Throwable thrown) {
+    if (context.quiet()) {
+      return;
+    }
+    if (context.buffer() != null) {
+      context
+          .buffer()
+          .leave(context.loggable(), context.level(), elapsed, context.exceptionAsString(thrown));
+      return;
+    }
+    writer.leave(
+        context.loggable(),
+        context.id(),
+        context.level(),
+        elapsed,
+        context.startOfLoggingChain() ? context.timings() : null,
+        context.exceptionAsString(thrown));
+  }
+
+  /** Return the cached metadata for the method, resolving it on first use. */
+  LoggableMethod loggableMethod(Method method) {
+    return loggableMethods.computeIfAbsent(
+        method, m -> new LoggableMethod(m, metrics == null ? null : metrics.timerFor(m)));
+  }
+
+  /** Pre-populate method metadata for the beans in the application context. */
+  @Override
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+    ApplicationContext context = event.getApplicationContext();
+    for (String name : context.getBeanDefinitionNames()) {
+      Class<?> type = context.getType(name);
+      if (type != null) {
+        warm(type);
+      }
+    }
+  }
+
+  /**
+   * Return a task that continues the logging chain of the calling thread when run on another
+   * thread. Loggable methods invoked by the task use the same ID and continue from the current
+   * level. Their timings are handed back to the calling thread's chain as each outermost loggable
+   * method of the task completes, before the task can signal its own completion, and are included
+   * in its timing summary. Timings are recorded with the running thread's own chain where possible,
+   * and only the ones recorded are handed back. If the calling chain is being sampled, messages
+   * from the task are not written. If the calling thread has no logging chain, the task is returned
+   * as is.
+   */
+  Runnable propagate(Runnable task) {
+    SharedState parent = sharedState.get();
+    if (parent == null) {
+      return task;
+    }
+    int level = parent.level();
+    return () -> {
+      SharedState previous = sharedState.get();
+      /* The thread's own chain is free unless the task runs within a chain of this thread. */
+      TimingChain timings = previous == null ? timingChains.get() : new TimingChain();
+      timings.reset();
+      sharedState.set(new SharedState(parent, level, timings));
+      try {
+        task.run();
+      } finally {
+        if (previous == null) {
+          sharedState.remove();
+        } else {
+          sharedState.set(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Resolve metadata for each method of the given type that would be advised by this aspect. Only
+   * public, non-static methods written in the source are resolved, so that timers are not
+   * registered for methods that are never advised. Types annotated with Loggable have all such
+   * methods resolved, otherwise only Loggable, GetMapping, or PostMapping methods are resolved.
+   */
+  void warm(Class<?> type) {
+    Class<?> userType = ClassUtils.getUserClass(type);
+    boolean loggableType = userType.isAnnotationPresent(Loggable.class);
+    for (Method method : userType.getDeclaredMethods()) {
+      if (!isWarmable(method)) {
+        continue;
+      }
+      if (loggableType || isAdvisedMethod(method)) {
+        loggableMethod(method);
+      }
+    }
+  }
+
+  /** The reflective information about an advised method that does not change between calls. */
+  @Value
+  static class LoggableMethod {
+    Logger log;
+    Method method;
+    Loggable annotation;
+    MethodTimer timer;
+
+    LoggableMethod(Method method, MethodTimer timer) {
+      this.log = LoggerFactory.getLogger(method.getDeclaringClass());
+      this.method = method;
+      this.annotation = method.getAnnotation(Loggable.class);
+      this.timer = timer;
+    }
+  }
+
   @Getter
   private static class SharedState {
     private final String id;
+    private final TimingChain timings;
+    /** Messages are buffered here if the logging chain is being sampled, otherwise null. */
+    private final LogBuffer buffer;
+
+    /** Messages are not written for tasks propagated from a chain that is being sampled. */
+    private final boolean quiet;
+
+    /** The chain continued by a propagated task, or null on the thread that started the chain. */
+    @Getter(AccessLevel.NONE)
+    private final SharedState parent;
+
+    /** The level of the chain when the task was propagated. */
+    @Getter(AccessLevel.NONE)
+    private final int taskLevel;
+
     private int level;
-    private List<String> timings;
+    @Setter private boolean failed;
+
+    /** Timings of tasks propagated to other threads, waiting to be merged into this chain. */
+    @Getter(AccessLevel.NONE)
+    private volatile List<TimingChain> adopted;
 
-    SharedState() {
-      id = String.format("%6X", System.currentTimeMillis() & 0xFFFFFF);
+    SharedState(TimingChain timings, LogBuffer buffer) {
+      id = LoggableIds.next();
       level = 1;
-      timings = new LinkedList<>();
+      this.timings = timings;
+      this.buffer = buffer;
+      quiet = false;
+      parent = null;
+      taskLevel = 0;
+      timings.reset();
+    }
+
+    /** Continue a chain on another thread, from the level it had when the task was propagated. */
+    SharedState(SharedState parent, int level, TimingChain timings) {
+      id = parent.id();
+      this.level = level;
+      this.timings = timings;
+      buffer = null;
+      quiet = parent.quiet() || parent.buffer() != null;
+      this.parent = parent;
+      taskLevel = level;
+    }
+
+    /** Accept the timings of a propagated task, which may complete on any thread. */
+    synchronized void adopt(TimingChain child) {
+      if (adopted == null) {
+        adopted = new ArrayList<>(4);
+      }
+      adopted.add(child);
+    }
+
+    /**
+     * Hand the timings of a propagated task back to the chain it continues when an outermost
+     * loggable method of the task completes. This happens before the task can complete a future
+     * that the calling thread joins.
+     */
+    void handBackTimings() {
+      if (parent == null || level != taskLevel + 1) {
+        return;
+      }
+      if (timings.size() > 0 || timings.dropped() > 0) {
+        parent.adopt(timings.snapshot());
+        timings.reset();
+      }
     }
 
     void levelDown() {
@@ -93,6 +358,17 @@ public class MethodExecutionLogger {
     void levelUp() {
       level += 1;
     }
+
+    /** Merge the timings of completed propagated tasks into this chain's timings. */
+    void mergeAdopted() {
+      if (adopted == null) {
+        return;
+      }
+      synchronized (this) {
+        adopted.forEach(timings::merge);
+        adopted = null;
+      }
+    }
   }
 
   /**
@@ -104,9 +380,7 @@ public class MethodExecutionLogger {
   private class Context implements AutoCloseable {
     ProceedingJoinPoint point;
     long start;
-    Logger log;
-    Method method;
-    Loggable annotation;
+    @Delegate LoggableMethod loggable;
     boolean startOfLoggingChain;
     @Delegate SharedState state;
 
@@ -116,10 +390,8 @@ public class MethodExecutionLogger {
      */
     Context(ProceedingJoinPoint point) {
       this.point = point;
-      start = System.currentTimeMillis();
-      log = LoggerFactory.getLogger(point.getSignature().getDeclaringType());
-      method = MethodSignature.class.cast(point.getSignature()).getMethod();
-      annotation = method.getAnnotation(Loggable.class);
+      start = System.nanoTime();
+      loggable = loggableMethod(MethodSignature.class.cast(point.getSignature()).getMethod());
 
       /*
        * The ID and level need to be determined based on the thread. The ID and previous level may
@@ -128,7 +400,10 @@ public class MethodExecutionLogger {
        */
       SharedState existingId = sharedState.get();
       if (existingId == null) {
-        state = new SharedState();
+        state =
+            new SharedState(
+                timingChains.get(),
+                sampler != null && sampler.buffering() ? logBuffers.get().reset() : null);
         startOfLoggingChain = true;
         sharedState.set(state);
       } else {
@@ -138,11 +413,6 @@ public class MethodExecutionLogger {
       }
     }
 
-    /** If method arguments are enabled, return them. Otherwise return an empty string. */
-    String argumentsAsString() {
-      return logArguments() ? Arrays.toString(point.getArgs()) : "";
-    }
-
     /**
      * If the ID was created by this context, remove it from the thread and reset the depth.
      * Otherwise, decrement the depth only.
@@ -166,47 +436,37 @@ public class MethodExecutionLogger {
 
     /** Return true if method arguments should be logged. */
     boolean logArguments() {
-      return log.isInfoEnabled() && (annotation == null || annotation.arguments());
+      return log().isInfoEnabled() && (annotation() == null || annotation().arguments());
     }
 
     /** Return true if end of invocation should be logged. */
     boolean logEnd() {
-      return log.isInfoEnabled() && (annotation == null || annotation.leave());
+      return log().isInfoEnabled() && (annotation() == null || annotation().leave());
     }
 
     /** Return true if exception summary should be logged. */
     boolean logException() {
-      return log.isInfoEnabled() && (annotation == null || annotation.exception());
+      return log().isInfoEnabled() && (annotation() == null || annotation().exception());
     }
 
     /** Return true if start of invocation should be logged. */
     boolean logStart() {
-      return log.isInfoEnabled() && (annotation == null || annotation.enter());
-    }
-
-    /** Return how long has this been running. */
-    long markTiming() {
-      long elapsed = System.currentTimeMillis() - start;
-      state.timings().add(method.getName() + " " + elapsed);
-      return elapsed;
+      return log().isInfoEnabled() && (annotation() == null || annotation().enter());
     }
 
     /**
-     * The assumption is that `markTiming` is called before this method. The timing summary is only
-     * available for the top of the loggable stack. It is also possible that the loggable stack only
-     * contained the top. So summary must also have at least one other entry.
+     * Record the timing of this invocation and return how long, in nanoseconds, it has run. The
+     * start of a chain first merges the timings of its completed tasks, and the end of an outermost
+     * method of a task hands the task's timings back.
      */
-    String timingSummary() {
-      if (!startOfLoggingChain || state.timings().size() < 2) {
-        return "";
+    long markTiming() {
+      long end = System.nanoTime();
+      if (startOfLoggingChain) {
+        state.mergeAdopted();
       }
-      return "["
-          + state
-              .timings()
-              .subList(0, state.timings().size() - 1)
-              .stream()
-              .collect(Collectors.joining(","))
-          + "]";
+      state.timings().record(method(), start, end);
+      state.handBackTimings();
+      return end - start;
     }
   }
 }
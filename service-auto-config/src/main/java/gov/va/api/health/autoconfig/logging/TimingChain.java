@@ -0,0 +1,125 @@
+package gov.va.api.health.autoconfig.logging;
+
+import java.lang.reflect.Method;
+
+/**
+ * A fixed capacity ring of method timings recorded by a chain of loggable methods on one thread.
+ * Timings are kept as primitive nanosecond values and only formatted when a summary is requested.
+ * Instances are reused by a thread for each new logging chain. When a deep or recursive chain
+ * records more than the capacity, the oldest timings are overwritten and counted as dropped.
+ */
+final class TimingChain {
+  /** The maximum number of timings retained for a single logging chain. */
+  static final int CAPACITY = 64;
+
+  private final Method[] methods;
+
+  private final long[] starts;
+
+  private final long[] ends;
+
+  /** The total number of timings recorded since the last reset, including overwritten ones. */
+  private int recorded;
+
+  /** The number of timings dropped by other chains that have been merged into this one. */
+  private int mergedDropped;
+
+  TimingChain() {
+    this(CAPACITY);
+  }
+
+  private TimingChain(int capacity) {
+    methods = new Method[capacity];
+    starts = new long[capacity];
+    ends = new long[capacity];
+  }
+
+  /** Append the elapsed time in milliseconds with microsecond precision, e.g. 12.034. */
+  static StringBuilder appendMillis(StringBuilder sb, long nanos) {
+    long micros = Math.max(nanos, 0) / 1000;
+    long fraction = micros % 1000;
+    sb.append(micros / 1000).append('.');
+    if (fraction < 100) {
+      sb.append('0');
+    }
+    if (fraction < 10) {
+      sb.append('0');
+    }
+    return sb.append(fraction);
+  }
+
+  /** Return the elapsed time in milliseconds with microsecond precision. */
+  static String millis(long nanos) {
+    return appendMillis(new StringBuilder(12), nanos).toString();
+  }
+
+  /** Return the number of timings that have been overwritten because capacity was exceeded. */
+  int dropped() {
+    return Math.max(recorded - methods.length, 0) + mergedDropped;
+  }
+
+  /** Record the retained timings of another chain, oldest first, after the timings of this one. */
+  void merge(TimingChain other) {
+    int first = other.recorded - other.size();
+    for (int i = 0; i < other.size(); i++) {
+      int slot = (first + i) % other.methods.length;
+      record(other.methods[slot], other.starts[slot], other.ends[slot]);
+    }
+    mergedDropped += other.dropped();
+  }
+
+  /** Record the start and end of a method invocation. */
+  void record(Method method, long startNanos, long endNanos) {
+    int slot = recorded % methods.length;
+    methods[slot] = method;
+    starts[slot] = startNanos;
+    ends[slot] = endNanos;
+    recorded++;
+  }
+
+  /** Forget all timings so this instance can be used for a new logging chain. */
+  void reset() {
+    recorded = 0;
+    mergedDropped = 0;
+  }
+
+  /** Return the number of timings currently retained. */
+  int size() {
+    return Math.min(recorded, methods.length);
+  }
+
+  /**
+   * Return a copy of the retained timings, sized to fit them, that can be summarized after this
+   * instance is reset.
+   */
+  TimingChain snapshot() {
+    TimingChain snapshot = new TimingChain(Math.max(size(), 1));
+    snapshot.merge(this);
+    return snapshot;
+  }
+
+  /**
+   * Format the retained timings, oldest first, excluding the most recent number of entries given by
+   * skipLast. If timings were dropped, the count is appended, e.g. [a 0.120,b 3.402,+12].
+   */
+  String summary(int skipLast) {
+    int count = size() - skipLast;
+    if (count <= 0) {
+      return "";
+    }
+    StringBuilder sb = new StringBuilder(count * 24).append('[');
+    int first = recorded - size();
+    for (int i = 0; i < count; i++) {
+      int slot = (first + i) % methods.length;
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(methods[slot].getName()).append(' ');
+      appendMillis(sb, ends[slot] - starts[slot]);
+    }
+    if (dropped() > 0) {
+      sb.append(",+").append(dropped());
+    }
+    return sb.append(']').toString();
+  }
+}
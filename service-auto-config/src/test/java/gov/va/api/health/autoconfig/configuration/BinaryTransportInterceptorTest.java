@@ -0,0 +1,58 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+public class BinaryTransportInterceptorTest {
+  private static final MediaType SMILE = BinaryTransportProperties.Format.SMILE.mediaType();
+
+  private final BinaryTransportInterceptor interceptor =
+      new BinaryTransportInterceptor(SMILE, List.of("Internal"));
+
+  @SneakyThrows
+  private String accept(String uri, MediaType... accept) {
+    MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(uri));
+    request.getHeaders().setAccept(List.of(accept));
+    interceptor.intercept(
+        request, new byte[0], (r, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+    return request.getHeaders().getFirst("Accept");
+  }
+
+  @Test
+  public void externalHostsAreUnchanged() {
+    assertThat(accept("http://external/r", MediaType.APPLICATION_JSON, SMILE))
+        .isEqualTo("application/json, application/x-jackson-smile");
+  }
+
+  @Test
+  public void internalHostsPreferBinary() {
+    assertThat(
+            accept(
+                "http://internal:8090/r",
+                MediaType.APPLICATION_JSON,
+                SMILE,
+                MediaType.parseMediaType("application/*+json")))
+        .isEqualTo("application/x-jackson-smile, application/json;q=0.9, application/*+json;q=0.9");
+  }
+
+  @Test
+  public void hostNamesAreComparedIgnoringCase() {
+    assertThat(accept("http://INTERNAL/r", MediaType.APPLICATION_JSON, SMILE))
+        .isEqualTo("application/x-jackson-smile, application/json;q=0.9");
+  }
+
+  @Test
+  public void responsesThatCannotBeReadAsBinaryAreUnchanged() {
+    assertThat(accept("http://internal/r", MediaType.TEXT_PLAIN, MediaType.ALL))
+        .isEqualTo("text/plain, */*");
+  }
+}
@@ -0,0 +1,64 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import lombok.SneakyThrows;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+public class CapturedResponseTest {
+  @SneakyThrows
+  private String body(CapturedResponse response) {
+    return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @SneakyThrows
+  public void bodiesLongerThanTheLimitAreTruncated() {
+    MockClientHttpResponse original =
+        new MockClientHttpResponse(
+            "Server Error".getBytes(StandardCharsets.UTF_8), HttpStatus.INTERNAL_SERVER_ERROR);
+    CapturedResponse captured = CapturedResponse.capture(original, 6);
+    assertThat(captured.bodyText()).isEqualTo("Server...");
+    assertThat(body(captured)).isEqualTo("Server Error");
+    assertThat(captured.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+  }
+
+  @Test
+  @SneakyThrows
+  public void bodiesWithinTheLimitAreCapturedCompletely() {
+    CapturedResponse captured =
+        CapturedResponse.capture(
+            new MockClientHttpResponse(
+                "Not Found".getBytes(StandardCharsets.UTF_8), HttpStatus.NOT_FOUND),
+            9);
+    assertThat(captured.bodyText()).isEqualTo("Not Found");
+    assertThat(body(captured)).isEqualTo("Not Found");
+  }
+
+  @Test
+  @SneakyThrows
+  public void charactersCutByTheLimitAreLeftOut() {
+    CapturedResponse captured =
+        CapturedResponse.capture(
+            new MockClientHttpResponse(
+                "abcd\u20ac".getBytes(StandardCharsets.UTF_8), HttpStatus.BAD_REQUEST),
+            5);
+    assertThat(captured.bodyText()).isEqualTo("abcd...");
+    assertThat(body(captured)).isEqualTo("abcd\u20ac");
+  }
+
+  @Test
+  @SneakyThrows
+  public void contentLengthLimitsTheCapture() {
+    MockClientHttpResponse original =
+        new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR);
+    original.getHeaders().setContentLength(0);
+    CapturedResponse captured = CapturedResponse.capture(original, 1024);
+    assertThat(captured.bodyText()).isEmpty();
+    assertThat(body(captured)).isEmpty();
+  }
+}
@@ -2,8 +2,13 @@ package gov.va.api.health.autoconfig.configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.ctc.wstx.stax.WstxInputFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import java.util.List;
 import java.util.function.Supplier;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -16,6 +21,44 @@ import org.junit.Test;
 
 public class JacksonConfigTest {
 
+  @Test
+  @SneakyThrows
+  public void afterburnerSupportsBuildersAndTrimming() {
+    ObjectMapper mapper =
+        new JacksonConfig(JacksonMapperProperties.builder().afterburnerEnabled(true).build())
+            .objectMapper();
+    assertThat(mapper.getRegisteredModuleIds()).contains(new AfterburnerModule().getTypeId());
+    CandyYaml candy = CandyYaml.builder().ya("  spaces  ").ml(1).build();
+    assertThat(mapper.writeValueAsString(candy)).isEqualTo("{\"ya\":\"spaces\",\"ml\":1}");
+    assertThat(mapper.readValue("{\"ya\":\" neat \",\"ml\":1}", CandyYaml.class))
+        .isEqualTo(CandyYaml.builder().ya("neat").ml(1).build());
+    HasPrivateDefaultConstructor bean =
+        mapper.readValue("{\"ok\":\" hey yah \"}", HasPrivateDefaultConstructor.class);
+    assertThat(bean).isEqualTo(HasPrivateDefaultConstructor.unconventional().ok("hey yah").build());
+    assertThat(mapper.writeValueAsString(bean)).isEqualTo("{\"ok\":\"hey yah\"}");
+  }
+
+  @Test
+  public void afterburnerIsDisabledByDefault() {
+    assertThat(JacksonConfig.createMapper().getRegisteredModuleIds())
+        .doesNotContain(new AfterburnerModule().getTypeId());
+  }
+
+  @Test
+  @SneakyThrows
+  public void binaryConvertersAreConfiguredLikeJson() {
+    JacksonConfig config = new JacksonConfig();
+    CandyYaml candy = CandyYaml.builder().ya(" spaces ").ml(1).build();
+    for (ObjectMapper mapper :
+        List.of(
+            config.smileHttpMessageConverter().getObjectMapper(),
+            config.cborHttpMessageConverter().getObjectMapper())) {
+      byte[] bytes = mapper.writeValueAsBytes(candy);
+      assertThat(mapper.readValue(bytes, CandyYaml.class))
+          .isEqualTo(CandyYaml.builder().ya("spaces").ml(1).build());
+    }
+  }
+
   @Test
   @SneakyThrows
   public void canCreateYamlMapper() {
@@ -24,6 +67,19 @@ public class JacksonConfigTest {
     assertThat(actual).isEqualTo(CandyYaml.builder().ya("neat").ml(1).build());
   }
 
+  @Test
+  @SneakyThrows
+  public void canCreateXmlMapper() {
+    XmlMapper mapper = JacksonConfig.createXmlMapper();
+    assertThat(mapper.getFactory().getXMLInputFactory()).isInstanceOf(WstxInputFactory.class);
+    String xml = mapper.writeValueAsString(CandyYaml.builder().ya(" neat ").ml(1).build());
+    assertThat(xml).isEqualTo("<CandyYaml><ya>neat</ya><ml>1</ml></CandyYaml>");
+    assertThat(mapper.readValue("<CandyYaml><ya> yum </ya><ml>2</ml></CandyYaml>", CandyYaml.class))
+        .isEqualTo(CandyYaml.builder().ya("yum").ml(2).build());
+    assertThat(mapper.writeValueAsString(new Attributed("a", "b")))
+        .isEqualTo("<Attributed id=\"a\"><value>b</value></Attributed>");
+  }
+
   @Test
   @SneakyThrows
   public void defaultConstructorIsUsedWhenAvailable() {
@@ -35,6 +91,26 @@ public class JacksonConfigTest {
     assertThat(actual).isEqualTo(expected);
   }
 
+  @Test
+  @SneakyThrows
+  public void sharedReadersAndWritersAreReused() {
+    assertThat(JacksonConfig.sharedMapper()).isSameAs(JacksonConfig.sharedMapper());
+    assertThat(JacksonConfig.readerFor(CandyYaml.class))
+        .isSameAs(JacksonConfig.readerFor(CandyYaml.class));
+    assertThat(JacksonConfig.readerForListOf(CandyYaml.class))
+        .isSameAs(JacksonConfig.readerForListOf(CandyYaml.class));
+    assertThat(JacksonConfig.writerFor(CandyYaml.class))
+        .isSameAs(JacksonConfig.writerFor(CandyYaml.class));
+    CandyYaml candy = CandyYaml.builder().ya(" neat").ml(1).build();
+    String json = JacksonConfig.writerFor(CandyYaml.class).writeValueAsString(candy);
+    assertThat(json).isEqualTo("{\"ya\":\"neat\",\"ml\":1}");
+    assertThat((CandyYaml) JacksonConfig.readerFor(CandyYaml.class).readValue(json))
+        .isEqualTo(CandyYaml.builder().ya("neat").ml(1).build());
+    List<CandyYaml> list =
+        JacksonConfig.readerForListOf(CandyYaml.class).readValue("[" + json + "," + json + "]");
+    assertThat(list).hasSize(2).allMatch(c -> c.ml() == 1);
+  }
+
   @Test
   public void hasEasyToUseMapperSupplier() {
     Supplier<ObjectMapper> supplier = JacksonConfig::createMapper;
@@ -49,6 +125,37 @@ public class JacksonConfigTest {
     assertThat(mapper.writeValueAsString(in)).isEqualTo("{\"ya\":\"spaces\",\"ml\":1}");
   }
 
+  @Test
+  @SneakyThrows
+  public void trimsWhiteSpaceWhenReading() {
+    ObjectMapper mapper = JacksonConfig.createMapper();
+    assertThat(mapper.readValue("{\"ya\":\"neat\",\"ml\":1}", CandyYaml.class).ya())
+        .isEqualTo("neat");
+    assertThat(mapper.readValue("{\"ya\":\" \\tne at\\n \",\"ml\":1}", CandyYaml.class).ya())
+        .isEqualTo("ne at");
+    assertThat(mapper.readValue("{\"ya\":\" \\r\\n \",\"ml\":1}", CandyYaml.class).ya()).isNull();
+    assertThat(mapper.readValue("{\"ya\":\"\",\"ml\":1}", CandyYaml.class).ya()).isNull();
+    assertThat(mapper.readValue("{\"ya\":42,\"ml\":1}", CandyYaml.class).ya()).isEqualTo("42");
+    assertThat(mapper.readValue("[\" a \",\"b\",\"  \"]", String[].class))
+        .containsExactly("a", "b", null);
+  }
+
+  @Test
+  @SneakyThrows
+  public void writesBlankStringsAsNull() {
+    ObjectMapper mapper = JacksonConfig.createMapper();
+    assertThat(mapper.writeValueAsString(new String[] {"a", " b", "c\t", "", " \n "}))
+        .isEqualTo("[\"a\",\"b\",\"c\",null,null]");
+  }
+
+  @Value
+  static class Attributed {
+    @JacksonXmlProperty(isAttribute = true)
+    String id;
+
+    String value;
+  }
+
   @SuppressWarnings("WeakerAccess")
   @Value
   @Builder
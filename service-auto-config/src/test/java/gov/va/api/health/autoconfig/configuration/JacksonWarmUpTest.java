@@ -0,0 +1,63 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.Value;
+import org.junit.Test;
+
+public class JacksonWarmUpTest {
+  private static final List<String> CONFIGURATION =
+      List.of("gov.va.api.health.autoconfig.configuration");
+
+  @Test
+  public void allTypesInPackagesAreResolvedAndDurationIsRecorded() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    JacksonWarmUp warmUp =
+        new JacksonWarmUp(
+            JacksonConfig.createMapper(),
+            List.of("gov.va.api.health.autoconfig.configuration.testapp"),
+            List.of(),
+            Optional.of(registry));
+    assertThat(warmUp.warmUp()).isGreaterThanOrEqualTo(3);
+    assertThat(warmUp.duration()).isGreaterThan(Duration.ZERO);
+    assertThat(registry.get(JacksonWarmUp.TIMER).timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void onlyAnnotatedTypesAreFoundInAnnotatedPackages() {
+    assertThat(JacksonWarmUp.scan(CONFIGURATION, true))
+        .hasSize(3)
+        .contains(Warm.class, Conflicted.class)
+        .doesNotContain(JacksonConfigTest.CandyYaml.class);
+  }
+
+  @Test
+  public void typesThatCannotBeResolvedAreSkipped() {
+    JacksonWarmUp warmUp =
+        new JacksonWarmUp(JacksonConfig.createMapper(), List.of(), CONFIGURATION, Optional.empty());
+    /* Warm and testapp.Fugazi. */
+    assertThat(warmUp.warmUp()).isEqualTo(2);
+  }
+
+  @WarmUp
+  static class Conflicted {
+    @JsonProperty("same")
+    String one;
+
+    @JsonProperty("same")
+    String two;
+  }
+
+  @Value
+  @Builder
+  @WarmUp
+  static class Warm {
+    String ember;
+  }
+}
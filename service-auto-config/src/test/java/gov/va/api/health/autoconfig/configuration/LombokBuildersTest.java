@@ -0,0 +1,49 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import gov.va.api.health.autoconfig.configuration.JacksonConfigTest.CandyYaml;
+import gov.va.api.health.autoconfig.configuration.JacksonConfigTest.HasPrivateDefaultConstructor;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.junit.Test;
+
+public class LombokBuildersTest {
+
+  @Test
+  public void builderIsResolvedByLombokConvention() {
+    assertThat(LombokBuilders.builderFor(CandyYaml.class))
+        .isSameAs(CandyYaml.CandyYamlBuilder.class)
+        .isSameAs(LombokBuilders.builderFor(CandyYaml.class));
+  }
+
+  @Test
+  public void noBuilderForDefaultConstructorOrMissingBuilder() {
+    assertThat(LombokBuilders.builderFor(HasPrivateDefaultConstructor.class)).isNull();
+    assertThat(LombokBuilders.builderFor(NoBuilder.class)).isNull();
+    assertThat(LombokBuilders.builderFor(NoBuilder.class)).isNull();
+  }
+
+  @Test
+  public void packagesAreScannedOnce() {
+    List<String> packages = List.of("gov.va.api.health.autoconfig.configuration.testapp");
+    assertThat(LombokBuilders.scan(packages)).isGreaterThanOrEqualTo(2);
+    assertThat(LombokBuilders.scan(packages)).isZero();
+  }
+
+  @Test
+  public void systemPropertiesAreUsedOutsideOfSpring() {
+    System.setProperty("jackson.builder-packages", " a.b, ,c ");
+    try {
+      assertThat(JacksonMapperProperties.fromSystemProperties().getBuilderPackages())
+          .containsExactly("a.b", "c");
+    } finally {
+      System.clearProperty("jackson.builder-packages");
+    }
+  }
+
+  @AllArgsConstructor
+  static class NoBuilder {
+    String value;
+  }
+}
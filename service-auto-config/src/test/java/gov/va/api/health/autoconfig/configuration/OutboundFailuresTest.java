@@ -0,0 +1,40 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import gov.va.api.health.autoconfig.configuration.OutboundFailures.Failure;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class OutboundFailuresTest {
+  private static Failure failure(String uri) {
+    return Failure.builder().method("GET").uri(uri).status(500).build();
+  }
+
+  @Test
+  public void failuresAreReturnedNewestFirst() {
+    OutboundFailures failures = new OutboundFailures(3);
+    failures.record(failure("/1"));
+    failures.record(failure("/2"));
+    assertThat(failures.failures().stream().map(Failure::uri).collect(Collectors.toList()))
+        .containsExactly("/2", "/1");
+  }
+
+  @Test
+  public void oldestFailuresAreReplacedWhenFull() {
+    OutboundFailures failures = new OutboundFailures(3);
+    for (int i = 1; i <= 5; i++) {
+      failures.record(failure("/" + i));
+    }
+    assertThat(failures.failures().stream().map(Failure::uri).collect(Collectors.toList()))
+        .containsExactly("/5", "/4", "/3");
+  }
+
+  @Test
+  public void zeroCapacityKeepsNothing() {
+    OutboundFailures failures = new OutboundFailures(0);
+    failures.record(failure("/1"));
+    assertThat(failures.enabled()).isFalse();
+    assertThat(failures.failures()).isEmpty();
+  }
+}
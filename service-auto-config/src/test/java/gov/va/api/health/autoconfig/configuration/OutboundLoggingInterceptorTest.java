@@ -0,0 +1,131 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import gov.va.api.health.autoconfig.configuration.OutboundFailures.Failure;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.SneakyThrows;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+public class OutboundLoggingInterceptorTest {
+  private final OutboundFailures failures = new OutboundFailures(10);
+
+  private final OutboundLoggingInterceptor interceptor =
+      new OutboundLoggingInterceptor(
+          HttpClientProperties.builder().errorBodyCaptureSize(DataSize.ofBytes(5)).build(),
+          failures);
+
+  private MockClientHttpRequest request() {
+    MockClientHttpRequest request =
+        new MockClientHttpRequest(HttpMethod.POST, URI.create("http://example.com/r"));
+    request.getHeaders().setBearerAuth("secret");
+    request.getHeaders().set("X-Thing", "thing");
+    return request;
+  }
+
+  @Test
+  @SneakyThrows
+  public void bodiesAreTruncatedToWholeCharacters() {
+    interceptor.intercept(
+        request(),
+        "abcd\u00e9f".getBytes(StandardCharsets.UTF_8),
+        (r, b) ->
+            new MockClientHttpResponse(
+                "abc\u20acd".getBytes(StandardCharsets.UTF_8), HttpStatus.BAD_REQUEST));
+    Failure failure = failures.failures().get(0);
+    assertThat(failure.requestBody()).isEqualTo("abcd...");
+    assertThat(failure.responseBody()).isEqualTo("abc...");
+  }
+
+  @Test
+  @SneakyThrows
+  public void errorStatusesAreRecordedWithTruncatedBodies() {
+    ClientHttpResponse response =
+        interceptor.intercept(
+            request(),
+            "request body".getBytes(StandardCharsets.UTF_8),
+            (r, b) ->
+                new MockClientHttpResponse(
+                    "response body".getBytes(StandardCharsets.UTF_8),
+                    HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8))
+        .isEqualTo("response body");
+    assertThat(failures.failures()).hasSize(1);
+    Failure failure = failures.failures().get(0);
+    assertThat(failure.method()).isEqualTo("POST");
+    assertThat(failure.uri()).isEqualTo("http://example.com/r");
+    assertThat(failure.status()).isEqualTo(503);
+    assertThat(failure.requestBody()).isEqualTo("reque...");
+    assertThat(failure.responseBody()).isEqualTo("respo...");
+    assertThat(failure.requestHeaders().get(HttpHeaders.AUTHORIZATION)).containsExactly("******");
+    assertThat(failure.requestHeaders().get("X-Thing")).containsExactly("thing");
+    assertThat(failure.exception()).isNull();
+  }
+
+  @Test
+  public void errorResponsesAreClosedWhenTheirBodiesCannotBeRead() {
+    AtomicBoolean closed = new AtomicBoolean();
+    MockClientHttpResponse unreadable =
+        new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY) {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+
+          @Override
+          public InputStream getBody() throws IOException {
+            throw new IOException("reset");
+          }
+        };
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> interceptor.intercept(request(), new byte[0], (r, b) -> unreadable));
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void exceptionsAreRecordedAndRethrown() {
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(
+            () ->
+                interceptor.intercept(
+                    request(),
+                    new byte[0],
+                    (r, b) -> {
+                      throw new IOException("refused");
+                    }));
+    Failure failure = failures.failures().get(0);
+    assertThat(failure.status()).isNull();
+    assertThat(failure.exception()).isEqualTo("java.io.IOException: refused");
+  }
+
+  @Test
+  @SneakyThrows
+  public void successesAreNotRecorded() {
+    ClientHttpResponse ok = new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+    assertThat(interceptor.intercept(request(), new byte[0], (r, b) -> ok)).isSameAs(ok);
+    assertThat(failures.failures()).isEmpty();
+  }
+
+  @Test
+  @SneakyThrows
+  public void unrecordedErrorsAreNotCaptured() {
+    ClientHttpResponse error = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND);
+    assertThat(
+            new OutboundLoggingInterceptor(new HttpClientProperties(), new OutboundFailures(0))
+                .intercept(request(), new byte[0], (r, b) -> error))
+        .isSameAs(error);
+  }
+}
@@ -0,0 +1,70 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.va.api.health.autoconfig.configuration.JacksonConfigTest.CandyYaml;
+import gov.va.api.health.autoconfig.configuration.JacksonMapperProperties.BufferPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.Test;
+
+public class PooledBufferRecyclerTest {
+
+  @Test
+  public void buffersAreReusedUpToCapacity() {
+    PooledBufferRecycler recycler = new PooledBufferRecycler(1);
+    byte[] first = recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER);
+    byte[] second = recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER);
+    recycler.releaseByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER, first);
+    recycler.releaseByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER, second);
+    assertThat(recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER)).isSameAs(first);
+    assertThat(recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER))
+        .isNotSameAs(first)
+        .isNotSameAs(second);
+    assertThat(recycler.hits()).isEqualTo(1);
+    assertThat(recycler.misses()).isEqualTo(3);
+  }
+
+  @Test
+  public void hitsAndMissesAreReported() {
+    PooledBufferRecycler recycler = new PooledBufferRecycler(4);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    recycler.bindTo(registry);
+    char[] buffer = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER);
+    recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buffer);
+    recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER);
+    assertThat(registry.get("jackson.buffers").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("jackson.buffers").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @SneakyThrows
+  public void sharedPoolIsUsedByMappers() {
+    ObjectMapper mapper =
+        new JacksonConfig(
+                JacksonMapperProperties.builder()
+                    .bufferPool(BufferPool.SHARED)
+                    .bufferPoolCapacity(3)
+                    .build())
+            .objectMapper();
+    assertThat(mapper.getFactory()._getBufferRecycler())
+        .isSameAs(PooledBufferRecycler.shared(3))
+        .isSameAs(mapper.copy().getFactory()._getBufferRecycler());
+    CandyYaml candy = CandyYaml.builder().ya(" neat ").ml(1).build();
+    for (int i = 0; i < 3; i++) {
+      assertThat(mapper.readValue(mapper.writeValueAsBytes(candy), CandyYaml.class))
+          .isEqualTo(CandyYaml.builder().ya("neat").ml(1).build());
+    }
+    assertThat(PooledBufferRecycler.shared(3).hits()).isPositive();
+  }
+
+  @Test
+  public void threadLocalRecyclerIsUsedByDefault() {
+    assertThat(JacksonConfig.createMapper().getFactory()._getBufferRecycler())
+        .isNotInstanceOf(PooledBufferRecycler.class);
+  }
+}
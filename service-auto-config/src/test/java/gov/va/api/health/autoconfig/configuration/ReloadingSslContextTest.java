@@ -0,0 +1,125 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import javax.net.ssl.SSLContext;
+import lombok.SneakyThrows;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReloadingSslContextTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private Path keyStore;
+
+  @Before
+  @SneakyThrows
+  public void copyKeyStore() {
+    keyStore = Files.createTempFile("keystore", ".jks");
+    try (InputStream in = getClass().getResourceAsStream("/test-keystore.jks")) {
+      Files.copy(in, keyStore, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  @After
+  @SneakyThrows
+  public void deleteKeyStore() {
+    Files.deleteIfExists(keyStore);
+  }
+
+  @Test
+  public void equalPropertiesShareTheContext() {
+    SslClientProperties properties = properties().build();
+    ReloadingSslContext context = ReloadingSslContext.shared(properties, registry);
+    properties.setSessionCacheSize(3);
+    ReloadingSslContext other = ReloadingSslContext.shared(properties, registry);
+    try {
+      assertThat(other).isNotSameAs(context);
+      assertThat(ReloadingSslContext.shared(properties().build(), registry)).isSameAs(context);
+      context.destroy();
+      context.destroy();
+      assertThat(ReloadingSslContext.shared(properties().build(), registry))
+          .isNotSameAs(context)
+          .satisfies(ReloadingSslContext::destroy);
+    } finally {
+      other.destroy();
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void modifiedStoresAreReloaded() {
+    ReloadingSslContext context = new ReloadingSslContext(properties().build(), registry);
+    SSLContext original = context.current();
+    assertThat(context.reloadIfModified()).isFalse();
+    File file = keyStore.toFile();
+    assertThat(file.setLastModified(file.lastModified() + 10_000)).isTrue();
+    assertThat(context.reloadIfModified()).isTrue();
+    assertThat(context.current()).isNotSameAs(original);
+    assertThat(context.reloadIfModified()).isFalse();
+    assertThat(registry.counter("ssl.reloads", "result", "success").count()).isEqualTo(1);
+  }
+
+  private SslClientProperties.SslClientPropertiesBuilder properties() {
+    return SslClientProperties.builder()
+        .enableClient(true)
+        .verify(false)
+        .clientKeyPassword("secret")
+        .keyStore("file:" + keyStore.toAbsolutePath())
+        .keyStorePassword("secret")
+        .reloadInterval(Duration.ZERO);
+  }
+
+  @Test
+  public void sessionCacheIsConfigured() {
+    SSLContext context =
+        new ReloadingSslContext(
+                properties().sessionCacheSize(7).sessionTimeout(Duration.ofHours(1)).build(),
+                registry)
+            .current();
+    assertThat(context.getClientSessionContext().getSessionCacheSize()).isEqualTo(7);
+    assertThat(context.getClientSessionContext().getSessionTimeout()).isEqualTo(3600);
+  }
+
+  @Test
+  public void storesAreNotWatchedByDefault() {
+    ReloadingSslContext context =
+        ReloadingSslContext.shared(properties().reloadInterval(null).build(), registry);
+    try {
+      assertThat(context.watching()).isFalse();
+    } finally {
+      context.destroy();
+    }
+  }
+
+  @Test
+  public void storesAreWatchedUntilTheLastUserIsDestroyed() {
+    SslClientProperties properties = properties().reloadInterval(Duration.ofMinutes(1)).build();
+    ReloadingSslContext context = ReloadingSslContext.shared(properties, registry);
+    assertThat(ReloadingSslContext.shared(properties, registry)).isSameAs(context);
+    assertThat(context.watching()).isTrue();
+    context.destroy();
+    assertThat(context.watching()).isTrue();
+    context.destroy();
+    assertThat(context.watching()).isFalse();
+  }
+
+  @Test
+  @SneakyThrows
+  public void unreadableStoresKeepTheCurrentContext() {
+    ReloadingSslContext context = new ReloadingSslContext(properties().build(), registry);
+    SSLContext original = context.current();
+    Files.write(keyStore, new byte[] {1, 2, 3});
+    assertThat(context.reloadIfModified()).isFalse();
+    assertThat(context.current()).isSameAs(original);
+    assertThat(registry.counter("ssl.reloads", "result", "failure").count()).isEqualTo(1);
+  }
+}
@@ -1,12 +1,31 @@
 package gov.va.api.health.autoconfig.configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
 import gov.va.api.health.autoconfig.configuration.SecureRestTemplateConfig.FailedToConfigureSsl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.ssl.SSLContextBuilder;
 import org.junit.Test;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 @Slf4j
@@ -128,6 +147,143 @@ public class SecureRestTemplateConfigTest {
     tryWebRequest(makeOne(SslClientProperties.builder().enableClient(false).build()));
   }
 
+  @Test
+  @SneakyThrows
+  public void requestsWaitAtMostTheLeaseTimeoutForAPooledConnection() {
+    CountDownLatch received = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          received.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          exchange.sendResponseHeaders(204, -1);
+          exchange.close();
+        });
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.start();
+    try {
+      String url = "http://localhost:" + server.getAddress().getPort() + "/";
+      RestTemplate rt =
+          new SecureRestTemplateConfig(
+                  SslClientProperties.builder().enableClient(false).build(),
+                  HttpClientProperties.builder()
+                      .maxConnectionsPerRoute(1)
+                      .leaseTimeout(Duration.ofMillis(100))
+                      .build(),
+                  new BinaryTransportProperties())
+              .restTemplate(new RestTemplateBuilder());
+      CompletableFuture<?> first =
+          CompletableFuture.runAsync(() -> rt.getForEntity(url, Void.class));
+      received.await();
+      assertThatExceptionOfType(ResourceAccessException.class)
+          .isThrownBy(() -> rt.getForEntity(url, Void.class))
+          .withCauseInstanceOf(ConnectionPoolTimeoutException.class);
+      release.countDown();
+      first.get();
+      assertThat(rt.getForEntity(url, Void.class).getStatusCodeValue()).isEqualTo(204);
+    } finally {
+      release.countDown();
+      server.stop(0);
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void streamedResponsesAreCompleteWhenErrorsAreLogged() {
+    String large = "x".repeat(100_000);
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          byte[] response = large.getBytes(StandardCharsets.UTF_8);
+          exchange.sendResponseHeaders(
+              exchange.getRequestURI().getPath().equals("/fail") ? 500 : 200, response.length);
+          exchange.getResponseBody().write(response);
+          exchange.close();
+        });
+    server.start();
+    try {
+      String url = "http://localhost:" + server.getAddress().getPort();
+      RestTemplate rt =
+          new SecureRestTemplateConfig(
+                  SslClientProperties.builder().enableClient(false).build(),
+                  HttpClientProperties.builder()
+                      .streamResponses(true)
+                      .errorBodyCaptureSize(DataSize.ofBytes(100))
+                      .build(),
+                  new BinaryTransportProperties())
+              .restTemplate(new RestTemplateBuilder());
+      assertThat(rt.getForObject(url + "/ok", String.class)).isEqualTo(large);
+      assertThatExceptionOfType(HttpServerErrorException.class)
+          .isThrownBy(() -> rt.getForObject(url + "/fail", String.class))
+          .satisfies(e -> assertThat(e.getResponseBodyAsString()).isEqualTo(large));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void tlsSessionsAreSharedByTemplatesWithTheSameProperties() {
+    KeyStore keyStore = KeyStore.getInstance("JKS");
+    try (InputStream in = getClass().getResourceAsStream("/test-server-keystore.jks")) {
+      keyStore.load(in, "secret".toCharArray());
+    }
+    HttpsServer server =
+        HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setHttpsConfigurator(
+        new HttpsConfigurator(
+            SSLContextBuilder.create().loadKeyMaterial(keyStore, "secret".toCharArray()).build()));
+    server.createContext(
+        "/",
+        exchange -> {
+          exchange.sendResponseHeaders(204, -1);
+          exchange.close();
+        });
+    server.start();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    try {
+      SslClientProperties properties =
+          SslClientProperties.builder()
+              .enableClient(true)
+              .verify(false)
+              .clientKeyPassword("secret")
+              .keyStore("classpath:test-keystore.jks")
+              .keyStorePassword("secret")
+              .useTrustStore(true)
+              .trustStore("classpath:test-truststore.jks")
+              .trustStorePassword("secret")
+              .sessionCacheSize(10)
+              .build();
+      ReloadingSslContext context = new ReloadingSslContext(properties, registry);
+      String url = "https://localhost:" + server.getAddress().getPort() + "/";
+      /* Each template has its own connection pool, so each request is a new connection. */
+      for (int i = 0; i < 3; i++) {
+        RestTemplate rt =
+            new SecureRestTemplateConfig(
+                    properties,
+                    new HttpClientProperties(),
+                    new BinaryTransportProperties(),
+                    context,
+                    registry)
+                .restTemplate(new RestTemplateBuilder());
+        assertThat(rt.getForEntity(url, Void.class).getStatusCodeValue()).isEqualTo(204);
+      }
+      assertThat(registry.timer("ssl.handshakes", "resumed", "false").count()).isEqualTo(1);
+      assertThat(registry.timer("ssl.handshakes", "resumed", "true").count()).isEqualTo(2);
+    } finally {
+      server.stop(0);
+    }
+  }
+
   private RestTemplate makeOne(SslClientProperties props) {
     assertThat(props.equals(new SslClientProperties())).isFalse();
     assertThat(props.hashCode()).isNotEqualTo(1);
@@ -0,0 +1,126 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import gov.va.api.health.autoconfig.configuration.OutboundFailures.Failure;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.time.Duration;
+import javax.net.ssl.SSLHandshakeException;
+import lombok.SneakyThrows;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+public class SecureWebClientConfigTest {
+  private final OutboundFailures failures = new OutboundFailures(10);
+
+  private WebClient makeOne(SslClientProperties props) {
+    return new SecureWebClientConfig(
+            props,
+            new HttpClientProperties(),
+            failures,
+            new ReloadingSslContext(props, new SimpleMeterRegistry()))
+        .webClient(WebClient.builder());
+  }
+
+  @Test
+  @SneakyThrows
+  public void errorStatusesAreRecordedWithoutBodies() {
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          exchange.sendResponseHeaders(503, -1);
+          exchange.close();
+        });
+    server.start();
+    try {
+      String url = "http://localhost:" + server.getAddress().getPort() + "/r";
+      WebClient client = makeOne(SslClientProperties.builder().enableClient(false).build());
+      assertThatExceptionOfType(WebClientResponseException.ServiceUnavailable.class)
+          .isThrownBy(
+              () ->
+                  client
+                      .get()
+                      .uri(url)
+                      .headers(h -> h.setBearerAuth("secret"))
+                      .retrieve()
+                      .bodyToMono(String.class)
+                      .block(Duration.ofSeconds(10)));
+      assertThat(failures.failures()).hasSize(1);
+      Failure failure = failures.failures().get(0);
+      assertThat(failure.method()).isEqualTo("GET");
+      assertThat(failure.uri()).isEqualTo(url);
+      assertThat(failure.status()).isEqualTo(503);
+      assertThat(failure.requestHeaders().get(HttpHeaders.AUTHORIZATION)).containsExactly("******");
+      assertThat(failure.responseBody()).isNull();
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  public void hostnamesAreVerifiedWhenEnabled() {
+    KeyStore keyStore = KeyStore.getInstance("JKS");
+    try (InputStream in = getClass().getResourceAsStream("/test-server-keystore.jks")) {
+      keyStore.load(in, "secret".toCharArray());
+    }
+    HttpsServer server =
+        HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setHttpsConfigurator(
+        new HttpsConfigurator(
+            SSLContextBuilder.create().loadKeyMaterial(keyStore, "secret".toCharArray()).build()));
+    server.createContext(
+        "/",
+        exchange -> {
+          exchange.sendResponseHeaders(204, -1);
+          exchange.close();
+        });
+    server.start();
+    try {
+      SslClientProperties.SslClientPropertiesBuilder properties =
+          SslClientProperties.builder()
+              .enableClient(true)
+              .clientKeyPassword("secret")
+              .keyStore("classpath:test-keystore.jks")
+              .keyStorePassword("secret")
+              .useTrustStore(true)
+              .trustStore("classpath:test-truststore.jks")
+              .trustStorePassword("secret");
+      /* The server certificate is issued to localhost, not 127.0.0.1. */
+      String url = "https://127.0.0.1:" + server.getAddress().getPort() + "/";
+      assertThat(
+              makeOne(properties.verify(false).build())
+                  .get()
+                  .uri(url)
+                  .exchange()
+                  .block(Duration.ofSeconds(10))
+                  .rawStatusCode())
+          .isEqualTo(204);
+      assertThatExceptionOfType(RuntimeException.class)
+          .isThrownBy(
+              () ->
+                  makeOne(properties.verify(true).build())
+                      .get()
+                      .uri(url)
+                      .exchange()
+                      .block(Duration.ofSeconds(10)))
+          .withCauseInstanceOf(SSLHandshakeException.class);
+      assertThat(failures.failures()).hasSize(1);
+    } finally {
+      server.stop(0);
+    }
+  }
+}
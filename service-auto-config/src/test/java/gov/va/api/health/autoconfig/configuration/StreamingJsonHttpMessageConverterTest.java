@@ -0,0 +1,99 @@
+package gov.va.api.health.autoconfig.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import gov.va.api.health.autoconfig.configuration.JacksonConfigTest.CandyYaml;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.Builder;
+import lombok.SneakyThrows;
+import lombok.Value;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class StreamingJsonHttpMessageConverterTest {
+  private final StreamingJsonHttpMessageConverter converter =
+      new StreamingJsonHttpMessageConverter(JacksonConfig.createMapper());
+
+  private static CandyYaml candy(String ya) {
+    return CandyYaml.builder().ya(ya).ml(1).build();
+  }
+
+  @Test
+  public void entriesAreWrittenInEnvelope() {
+    StreamingBody<CandyYaml> body =
+        StreamingBody.of(List.of(candy("a")).iterator())
+            .in(Envelope.builder().type(" searchset ").entry(List.of(candy("x"))).build(), "entry");
+    assertThat(write(body))
+        .isEqualTo("{\"type\":\"searchset\",\"entry\":[{\"ya\":\"a\",\"ml\":1}]}");
+  }
+
+  @Test
+  @SneakyThrows
+  public void failedEntriesLeaveTheWrittenEntriesIncomplete() {
+    Iterator<CandyYaml> entries =
+        Stream.<Supplier<CandyYaml>>of(
+                () -> candy("a"),
+                () -> candy("b"),
+                () -> {
+                  throw new IllegalStateException("boom");
+                })
+            .map(Supplier::get)
+            .iterator();
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () -> converter.write(StreamingBody.of(entries), MediaType.APPLICATION_JSON, message));
+    assertThat(message.getBodyAsString())
+        .isEqualTo("[{\"ya\":\"a\",\"ml\":1},{\"ya\":\"b\",\"ml\":1}");
+  }
+
+  @Test
+  public void onlyStreamingBodiesAreWritten() {
+    assertThat(converter.canWrite(StreamingBody.class, MediaType.APPLICATION_JSON)).isTrue();
+    assertThat(converter.canWrite(StreamingBody.class, MediaType.valueOf("application/fhir+json")))
+        .isTrue();
+    assertThat(converter.canWrite(CandyYaml.class, MediaType.APPLICATION_JSON)).isFalse();
+    assertThat(converter.canRead(StreamingBody.class, MediaType.APPLICATION_JSON)).isFalse();
+  }
+
+  @Test
+  public void pagesAreRequestedAsEntriesAreWritten() {
+    Deque<List<CandyYaml>> pages =
+        new ArrayDeque<>(List.of(List.of(candy("a"), candy("b")), List.of(candy("c"))));
+    assertThat(write(StreamingBody.ofPages(pages::poll)))
+        .isEqualTo("[{\"ya\":\"a\",\"ml\":1},{\"ya\":\"b\",\"ml\":1},{\"ya\":\"c\",\"ml\":1}]");
+    assertThat(write(StreamingBody.ofPages(List::of))).isEqualTo("[]");
+  }
+
+  @Test
+  public void streamsAreWrittenAsArraysAndClosed() {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<CandyYaml> stream = Stream.of(candy(" a "), candy("b")).onClose(() -> closed.set(true));
+    assertThat(write(StreamingBody.of(stream)))
+        .isEqualTo("[{\"ya\":\"a\",\"ml\":1},{\"ya\":\"b\",\"ml\":1}]");
+    assertThat(closed).isTrue();
+  }
+
+  @SneakyThrows
+  private String write(StreamingBody<?> body) {
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    converter.write(body, MediaType.APPLICATION_JSON, message);
+    assertThat(message.getHeaders().getContentLength()).isEqualTo(-1);
+    return message.getBodyAsString();
+  }
+
+  @Value
+  @Builder
+  static class Envelope {
+    String type;
+    List<CandyYaml> entry;
+  }
+}
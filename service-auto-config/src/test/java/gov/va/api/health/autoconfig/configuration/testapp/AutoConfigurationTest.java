@@ -1,26 +1,79 @@
 package gov.va.api.health.autoconfig.configuration.testapp;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import gov.va.api.health.autoconfig.configuration.BinaryTransportProperties;
 import gov.va.api.health.autoconfig.configuration.JacksonConfig;
+import gov.va.api.health.autoconfig.configuration.JacksonWarmUp;
+import gov.va.api.health.autoconfig.configuration.ReloadingSslContext;
+import gov.va.api.health.autoconfig.logging.LoggableTaskDecorator;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
 @Import({FugaziApplication.class, JacksonConfig.class})
-@TestPropertySource(properties = {"ssl.enable-client=false"})
+@TestPropertySource(
+  properties = {
+    "ssl.enable-client=false",
+    "jackson.warm-up-enabled=true",
+    "binary-transport.hosts=127.0.0.1",
+    "management.endpoints.web.exposure.include=outboundfailures"
+  }
+)
 @Slf4j
 public class AutoConfigurationTest {
   @Autowired TestRestTemplate rest;
 
+  @Autowired JacksonWarmUp warmUp;
+
+  @Autowired RestTemplate restTemplate;
+
+  @Autowired WebClient webClient;
+
+  @Autowired TaskDecorator taskDecorator;
+
+  @Autowired ApplicationContext context;
+
+  @LocalServerPort int port;
+
+  @Test
+  public void binaryIsUsedWithInternalHostsOnly() {
+    ResponseEntity<Fugazi> internal =
+        restTemplate.getForEntity("http://127.0.0.1:" + port + "/hello", Fugazi.class);
+    assertThat(
+            internal
+                .getHeaders()
+                .getContentType()
+                .isCompatibleWith(BinaryTransportProperties.Format.SMILE.mediaType()))
+        .isTrue();
+    ResponseEntity<Fugazi> external =
+        restTemplate.getForEntity("http://localhost:" + port + "/hello", Fugazi.class);
+    assertThat(external.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON))
+        .isTrue();
+    assertThat(internal.getBody()).isEqualToIgnoringGivenFields(external.getBody(), "time");
+  }
+
   @Test(expected = RuntimeException.class)
   public void boom() {
     rest.getForEntity("/boom", Fugazi.class);
@@ -31,5 +84,70 @@ public class AutoConfigurationTest {
     log.info("{}", Fugazi.FugaziBuilder.class.getName());
     ResponseEntity<Fugazi> f = rest.getForEntity("/hello", Fugazi.class);
     log.info("{}", f);
+    assertThat(f.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON))
+        .isTrue();
+  }
+
+  @Test
+  public void jacksonIsWarmedUp() {
+    assertThat(warmUp.duration()).isGreaterThan(Duration.ZERO);
+    assertThat(warmUp.warmUp()).isEqualTo(1);
+  }
+
+  @Test
+  public void outboundFailuresAreAvailableFromActuator() {
+    assertThatExceptionOfType(HttpServerErrorException.class)
+        .isThrownBy(
+            () -> restTemplate.getForEntity("http://localhost:" + port + "/boom", Fugazi.class));
+    String failures = rest.getForObject("/actuator/outboundfailures", String.class);
+    assertThat(failures).contains("\"uri\":\"http://localhost:" + port + "/boom\"");
+    assertThat(failures).contains("\"status\":500");
+  }
+
+  @Test
+  public void projectXmlConverterIsDisabledByDefault() {
+    assertThat(context.containsBean("xmlHttpMessageConverter")).isFalse();
+  }
+
+  @Test
+  public void restTemplateHttpClientIsABean() {
+    assertThat(context.getBean("secureRestTemplateHttpClient"))
+        .isInstanceOf(CloseableHttpClient.class);
+  }
+
+  @Test
+  public void sslContextIsABean() {
+    assertThat(context.getBeansOfType(ReloadingSslContext.class)).hasSize(1);
+  }
+
+  @Test
+  public void streamingBodiesAreWrittenIncrementally() {
+    ResponseEntity<Fugazi[]> f = rest.getForEntity("/stream", Fugazi[].class);
+    assertThat(f.getHeaders().getContentLength()).isEqualTo(-1);
+    assertThat(f.getBody()).hasSize(2);
+    assertThat(f.getBody()[0].thing()).isEqualTo("Howdy");
+  }
+
+  @Test
+  public void taskDecoratorIsRegistered() {
+    assertThat(taskDecorator).isInstanceOf(LoggableTaskDecorator.class);
+  }
+
+  @Test
+  public void webClientConnectionsAreABean() {
+    assertThat(context.getBean("secureWebClientConnections"))
+        .isInstanceOf(ConnectionProvider.class);
+  }
+
+  @Test
+  public void webClientIsConfigured() {
+    Fugazi f =
+        webClient
+            .get()
+            .uri("http://localhost:" + port + "/hello")
+            .retrieve()
+            .bodyToMono(Fugazi.class)
+            .block(Duration.ofSeconds(10));
+    assertThat(f.thing()).isEqualTo("Howdy");
   }
 }
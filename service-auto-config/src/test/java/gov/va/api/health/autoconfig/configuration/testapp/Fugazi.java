@@ -2,6 +2,7 @@ package gov.va.api.health.autoconfig.configuration.testapp;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import gov.va.api.health.autoconfig.configuration.WarmUp;
 import java.time.Instant;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +10,7 @@ import lombok.Value;
 
 @Value
 @Builder
+@WarmUp
 class Fugazi {
   String thing;
   Instant time;
@@ -1,7 +1,9 @@
 package gov.va.api.health.autoconfig.configuration.testapp;
 
+import gov.va.api.health.autoconfig.configuration.StreamingBody;
 import gov.va.api.health.autoconfig.configuration.testapp.Fugazi.CustomBuilder;
 import gov.va.api.health.autoconfig.configuration.testapp.Fugazi.Specified;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -26,4 +28,9 @@ public class FugaziController {
         .cb(CustomBuilder.makeOne().one(1).build())
         .build();
   }
+
+  @GetMapping(path = "/stream")
+  public StreamingBody<Fugazi> stream() {
+    return StreamingBody.of(Stream.of(hello(), hello()));
+  }
 }
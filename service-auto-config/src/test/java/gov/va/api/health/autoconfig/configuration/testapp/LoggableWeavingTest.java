@@ -0,0 +1,91 @@
+package gov.va.api.health.autoconfig.configuration.testapp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import gov.va.api.health.autoconfig.logging.ArgumentRenderer;
+import gov.va.api.health.autoconfig.logging.Loggable;
+import gov.va.api.health.autoconfig.logging.LoggableAspect;
+import gov.va.api.health.autoconfig.logging.LoggableMetrics;
+import gov.va.api.health.autoconfig.logging.LoggableProperties;
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.aspectj.lang.Aspects;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Woven behavior is verified when the AspectJ weaver is attached, see the {@code woven} surefire
+ * execution.
+ */
+public class LoggableWeavingTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /** The woven aspect is global, so the binding of the application under test is restored. */
+  private MethodExecutionLogger previous;
+
+  private LoggableAspect bind() {
+    LoggableProperties properties = new LoggableProperties();
+    return LoggableAspect.bind(
+        new MethodExecutionLogger(
+            properties,
+            new ArgumentRenderer(properties),
+            Optional.empty(),
+            Optional.of(new LoggableMetrics(registry, properties))));
+  }
+
+  private long count(String method) {
+    return registry.get("loggable.method").tag("method", method).timer().count();
+  }
+
+  @Before
+  public void rememberBinding() {
+    if (Aspects.hasAspect(LoggableAspect.class)) {
+      previous = Aspects.aspectOf(LoggableAspect.class).logger();
+    }
+  }
+
+  @After
+  public void restoreBinding() {
+    if (Aspects.hasAspect(LoggableAspect.class)) {
+      LoggableAspect.bind(previous);
+    }
+  }
+
+  @Test
+  public void bindReturnsWovenAspectOnlyWhenWoven() {
+    boolean woven = Aspects.hasAspect(LoggableAspect.class);
+    LoggableAspect aspect = bind();
+    assertThat(aspect.woven()).isEqualTo(woven);
+    assertThat(bind() == aspect).isEqualTo(woven);
+  }
+
+  @Test
+  public void selfInvocationIsLoggedWhenWoven() {
+    assumeTrue(Aspects.hasAspect(LoggableAspect.class));
+    bind();
+    new Selfish().outer();
+    assertThat(count("outer")).isEqualTo(1);
+    assertThat(count("inner")).isEqualTo(1);
+    assertThat(registry.find("loggable.method").tag("method", "hidden").timer()).isNull();
+  }
+
+  static class Selfish {
+    @Loggable
+    public int inner() {
+      return hidden() + 1;
+    }
+
+    @Loggable
+    public int outer() {
+      return inner();
+    }
+
+    @Loggable
+    private int hidden() {
+      return 1;
+    }
+  }
+}
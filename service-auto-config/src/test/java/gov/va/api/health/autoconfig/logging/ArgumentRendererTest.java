@@ -0,0 +1,78 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Test;
+
+public class ArgumentRendererTest {
+
+  private ArgumentRenderer renderer() {
+    return new ArgumentRenderer(new LoggableProperties());
+  }
+
+  @Test
+  public void collectionsAreSummarizedBeyondMaxDepth() {
+    Object[] args = {List.of(List.of(List.of(1, 2, 3)))};
+    assertThat(renderer().render(args)).isEqualTo("[[[[3 items]]]]");
+  }
+
+  @Test
+  public void longArgumentsAreTruncated() {
+    ArgumentRenderer renderer =
+        new ArgumentRenderer(LoggableProperties.builder().argumentsMaxLength(10).build());
+    assertThat(renderer.render(new Object[] {"abcdefghijklmnop"})).isEqualTo("[abcdefghi...");
+    assertThat(renderer.render(new Object[] {"abcdefgh"})).isEqualTo("[abcdefgh]");
+    assertThat(renderer.render(new Object[] {"abcdefghi", 1})).isEqualTo("[abcdefghi...");
+  }
+
+  @Test
+  public void nullArgumentsAreRendered() {
+    assertThat(renderer().render(null)).isEqualTo("null");
+    assertThat(renderer().render(new Object[] {null, Optional.empty()}))
+        .isEqualTo("[null, Optional[null]]");
+  }
+
+  @Test
+  public void registeredRenderersTakePrecedence() {
+    ArgumentRenderer renderer = renderer();
+    assertThat(renderer.render(new Object[] {new Big("x")})).isEqualTo("[Big(x)]");
+    renderer.register(Big.class, b -> "Big/" + b.name);
+    assertThat(renderer.render(new Object[] {new Big("x")})).isEqualTo("[Big/x]");
+  }
+
+  @Test
+  public void typeNamesCanBeEnabled() {
+    assertThat(renderer().render(new Object[] {new Big("x"), "s", 1})).isEqualTo("[Big(x), s, 1]");
+    ArgumentRenderer renderer =
+        new ArgumentRenderer(LoggableProperties.builder().argumentsUseToString(false).build());
+    assertThat(renderer.render(new Object[] {new Big("x"), "s", 1})).isEqualTo("[Big, s, 1]");
+  }
+
+  @Test
+  public void valuesAreRenderedLikeArraysToString() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("a", 1);
+    map.put("b", new int[] {2, 3});
+    map.put("c", Map.of("d", List.of(4)));
+    Object[] args = {"s", 1, true, new long[] {1, 2}, List.of("x", "y"), map, Optional.of("o")};
+    assertThat(renderer().render(args))
+        .isEqualTo("[s, 1, true, [1, 2], [x, y], {a=1, b=[2, 3], c={d=[1 items]}}, Optional[o]]");
+  }
+
+  private static class Big {
+    private final String name;
+
+    Big(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String toString() {
+      return "Big(" + name + ")";
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import gov.va.api.health.autoconfig.logging.LoggableProperties.Overflow;
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import lombok.SneakyThrows;
+import org.junit.Test;
+
+public class AsyncLogWriterTest {
+
+  @SneakyThrows
+  private LoggableMethod loggableMethod() {
+    return new LoggableMethod(AsyncLogWriterTest.class.getDeclaredMethod("loggableMethod"), null);
+  }
+
+  @Test
+  public void capacityIsRoundedUpToPowerOfTwo() {
+    assertThat(writer(1000, Overflow.DROP).capacity()).isEqualTo(1024);
+    assertThat(writer(1024, Overflow.DROP).capacity()).isEqualTo(1024);
+    assertThat(writer(1, Overflow.BLOCK).capacity()).isEqualTo(2);
+  }
+
+  @Test
+  @SneakyThrows
+  public void messagesAreDroppedWhenBufferIsFull() {
+    CountDownLatch writing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Object blocking =
+        new Object() {
+          @Override
+          @SneakyThrows
+          public String toString() {
+            writing.countDown();
+            release.await();
+            return "blocking";
+          }
+        };
+    AsyncLogWriter writer = writer(2, Overflow.DROP);
+    writer.start();
+    try {
+      /* Arguments are rendered by the consumer, which holds the first slot until released. */
+      writer.enter(loggableMethod(), "ABC", 1, new Object[] {blocking});
+      writing.await();
+      for (int i = 0; i < 3; i++) {
+        writer.enter(loggableMethod(), "ABC", 1, null);
+      }
+      assertThat(writer.dropped()).isEqualTo(2);
+    } finally {
+      release.countDown();
+      writer.destroy();
+    }
+    assertThat(writer.pending()).isZero();
+    assertThat(writer.dropped()).isEqualTo(2);
+  }
+
+  @Test
+  @SneakyThrows
+  public void messagesAreDroppedWhenNotRunning() {
+    AsyncLogWriter writer = writer(4, Overflow.BLOCK);
+    writer.enter(loggableMethod(), "ABC", 1, null);
+    assertThat(writer.dropped()).isEqualTo(1);
+    assertThat(writer.pending()).isZero();
+  }
+
+  @Test
+  @SneakyThrows
+  public void messagesAreWrittenByBackgroundThread() {
+    AsyncLogWriter writer = writer(4, Overflow.BLOCK);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    writer.bindTo(registry);
+    writer.start();
+    for (int i = 0; i < 100; i++) {
+      writer.enter(loggableMethod(), "ABC", 1, new Object[] {i});
+      writer.leave(loggableMethod(), "ABC", 1, 1_234_567, null, "");
+    }
+    writer.destroy();
+    assertThat(writer.pending()).isZero();
+    assertThat(writer.dropped()).isZero();
+    assertThat(registry.get("loggable.async.dropped").functionCounter().count()).isZero();
+    assertThat(registry.get("loggable.async.pending").gauge().value()).isZero();
+  }
+
+  private AsyncLogWriter writer(int capacity, Overflow overflow) {
+    return new AsyncLogWriter(
+        LoggableProperties.builder()
+            .asyncEnabled(true)
+            .asyncCapacity(capacity)
+            .asyncOverflow(overflow)
+            .build(),
+        new ArgumentRenderer(LoggableProperties.builder().argumentsUseToString(true).build()));
+  }
+}
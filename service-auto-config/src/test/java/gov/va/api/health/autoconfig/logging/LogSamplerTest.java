@@ -0,0 +1,136 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.Test;
+
+public class LogSamplerTest {
+
+  @SneakyThrows
+  private static LoggableMethod method(String name) {
+    return new LoggableMethod(LogSamplerTest.class.getDeclaredMethod(name), null);
+  }
+
+  @Test
+  public void bufferedMessagesAreWrittenInOrder() {
+    LogBuffer buffer = new LogBuffer();
+    buffer.enter(method("bufferedMessagesAreWrittenInOrder"), 1, new Object[] {"a", 1});
+    buffer.enter(method("slow"), 2, null);
+    buffer.leave(method("slow"), 2, 1_000_000, "");
+    buffer.leave(method("bufferedMessagesAreWrittenInOrder"), 1, 2_000_000, "Boom");
+    TimingChain timings = new TimingChain();
+    timings.record(method("slow").method(), 0, 1_000_000);
+    timings.record(method("bufferedMessagesAreWrittenInOrder").method(), 0, 2_000_000);
+    List<String> lines = new ArrayList<>();
+    buffer.writeTo(new CapturingWriter(lines), "ABC", timings);
+    assertThat(lines)
+        .containsExactly(
+            "ENTER ABC 1 bufferedMessagesAreWrittenInOrder [a, 1]",
+            "ENTER ABC 2 slow ",
+            "LEAVE ABC 2 slow 1000000  ",
+            "LEAVE ABC 1 bufferedMessagesAreWrittenInOrder 2000000 [slow 1.000] Boom");
+    assertThat(buffer.reset().size()).isZero();
+  }
+
+  @Test
+  public void bufferDiscardsMessagesBeyondCapacity() {
+    LogBuffer buffer = new LogBuffer();
+    for (int i = 0; i < LogBuffer.CAPACITY + 2; i++) {
+      buffer.enter(method("slow"), 1, null);
+    }
+    assertThat(buffer.size()).isEqualTo(LogBuffer.CAPACITY);
+    assertThat(buffer.dropped()).isEqualTo(2);
+  }
+
+  @Test
+  public void noSamplerWhenNotConfigured() {
+    assertThat(LogSampler.of(new LoggableProperties())).isNull();
+  }
+
+  @Test
+  public void overheadBeyondBudgetEnablesBuffering() {
+    LogSampler sampler =
+        LogSampler.of(LoggableProperties.builder().samplingOverheadBudget(0.1).build());
+    assertThat(sampler.buffering()).isFalse();
+    sampler.recordOverhead(50, 100);
+    sampler.evaluate();
+    assertThat(sampler.overBudget()).isTrue();
+    assertThat(sampler.buffering()).isTrue();
+    sampler.recordOverhead(5, 100);
+    sampler.evaluate();
+    assertThat(sampler.buffering()).isFalse();
+  }
+
+  @Test
+  public void slowOrFailedChainsAreAlwaysWritten() {
+    LogSampler sampler =
+        LogSampler.of(
+            LoggableProperties.builder()
+                .samplingEnabled(true)
+                .samplingRate(0)
+                .samplingSlowThreshold(Duration.ofMillis(100))
+                .build());
+    assertThat(sampler.buffering()).isTrue();
+    LoggableMethod normal = method("bufferedMessagesAreWrittenInOrder");
+    assertThat(sampler.shouldWrite(normal, 1_000, false)).isFalse();
+    assertThat(sampler.shouldWrite(normal, 1_000, true)).isTrue();
+    assertThat(sampler.shouldWrite(normal, 100_000_000, false)).isTrue();
+    LoggableMethod slow = method("slow");
+    assertThat(sampler.shouldWrite(slow, 5_000_000, false)).isTrue();
+    assertThat(sampler.shouldWrite(slow, 4_000_000, false)).isFalse();
+  }
+
+  @Loggable(slowThresholdMillis = 5)
+  void slow() {}
+
+  private static class CapturingWriter implements LogWriter {
+    private final List<String> lines;
+
+    private final ArgumentRenderer renderer = new ArgumentRenderer(new LoggableProperties());
+
+    CapturingWriter(List<String> lines) {
+      this.lines = lines;
+    }
+
+    @Override
+    public void enter(LoggableMethod method, String id, int level, Object[] arguments) {
+      lines.add(
+          "ENTER "
+              + id
+              + " "
+              + level
+              + " "
+              + method.method().getName()
+              + " "
+              + (arguments == null ? "" : renderer.render(arguments)));
+    }
+
+    @Override
+    public void leave(
+        LoggableMethod method,
+        String id,
+        int level,
+        long elapsedNanos,
+        TimingChain timings,
+        String exception) {
+      lines.add(
+          "LEAVE "
+              + id
+              + " "
+              + level
+              + " "
+              + method.method().getName()
+              + " "
+              + elapsedNanos
+              + " "
+              + (timings == null ? "" : timings.summary(1))
+              + " "
+              + exception);
+    }
+  }
+}
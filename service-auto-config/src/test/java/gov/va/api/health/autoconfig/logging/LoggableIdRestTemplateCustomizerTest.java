@@ -0,0 +1,70 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.Optional;
+import org.junit.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+public class LoggableIdRestTemplateCustomizerTest {
+
+  private final MethodExecutionLogger logger =
+      new MethodExecutionLogger(
+          new LoggableProperties(),
+          new ArgumentRenderer(new LoggableProperties()),
+          Optional.empty(),
+          Optional.empty());
+
+  @Test
+  public void blankHeaderDisablesForwarding() {
+    RestTemplate rt = new RestTemplate();
+    new LoggableIdRestTemplateCustomizer(logger, LoggableProperties.builder().idHeader("").build())
+        .customize(rt);
+    assertThat(rt.getInterceptors()).isEmpty();
+  }
+
+  @Test
+  public void idIsForwardedWithinLoggingChain() {
+    RestTemplate rt = new RestTemplate();
+    new LoggableIdRestTemplateCustomizer(logger, new LoggableProperties()).customize(rt);
+    MockRestServiceServer server = MockRestServiceServer.bindTo(rt).build();
+    server
+        .expect(requestTo("/outside"))
+        .andExpect(r -> assertThat(r.getHeaders().containsKey("X-Loggable-Id")).isFalse())
+        .andRespond(withSuccess());
+    server
+        .expect(requestTo("/inside"))
+        .andExpect(header("X-Loggable-Id", notNullValue(String.class)))
+        .andRespond(withSuccess());
+    rt.getForObject("/outside", String.class);
+    AspectJProxyFactory factory = new AspectJProxyFactory(new Caller(rt));
+    factory.setProxyTargetClass(true);
+    factory.addAspect(LoggableAspect.bind(logger));
+    Caller caller = factory.getProxy();
+    caller.call();
+    server.verify();
+  }
+
+  @Loggable
+  static class Caller {
+    private final RestTemplate rt;
+
+    Caller() {
+      this(null);
+    }
+
+    Caller(RestTemplate rt) {
+      this.rt = rt;
+    }
+
+    public void call() {
+      rt.getForObject("/inside", String.class);
+    }
+  }
+}
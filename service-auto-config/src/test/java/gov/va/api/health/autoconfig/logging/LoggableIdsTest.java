@@ -0,0 +1,26 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class LoggableIdsTest {
+
+  @Test
+  public void hexIsSixteenUpperCaseCharacters() {
+    assertThat(LoggableIds.hex(0)).isEqualTo("0000000000000000");
+    assertThat(LoggableIds.hex(0xABCDEF0123456789L)).isEqualTo("ABCDEF0123456789");
+    assertThat(LoggableIds.hex(-1)).isEqualTo("FFFFFFFFFFFFFFFF");
+  }
+
+  @Test
+  public void idsAreUniqueAcrossThreads() {
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    IntStream.range(0, 10_000).parallel().forEach(i -> ids.add(LoggableIds.next()));
+    assertThat(ids).hasSize(10_000);
+    assertThat(ids).allMatch(id -> id.matches("[0-9A-F]{16}"));
+  }
+}
@@ -0,0 +1,54 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import gov.va.api.health.autoconfig.logging.LoggableMetrics.MethodTimer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.Test;
+
+public class LoggableMetricsTest {
+
+  @Test
+  @SneakyThrows
+  public void timersAreTaggedByClassMethodAndException() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    LoggableMetrics metrics =
+        new LoggableMetrics(
+            registry,
+            LoggableProperties.builder()
+                .metricsEnabled(true)
+                .metricsPercentileHistogram(true)
+                .metricsPercentiles(List.of(0.5, 0.99))
+                .metricsSla(List.of(Duration.ofMillis(10)))
+                .build());
+    MethodTimer timer =
+        metrics.timerFor(
+            LoggableMetricsTest.class.getDeclaredMethod(
+                "timersAreTaggedByClassMethodAndException"));
+    Timer success =
+        registry
+            .get("loggable.method")
+            .tags(
+                "class",
+                LoggableMetricsTest.class.getName(),
+                "method",
+                "timersAreTaggedByClassMethodAndException",
+                "exception",
+                LoggableMetrics.NO_EXCEPTION)
+            .timer();
+    assertThat(success.count()).isZero();
+    timer.record(2_000_000, null);
+    timer.record(5_000_000, new IllegalStateException());
+    timer.record(7_000_000, new IllegalStateException());
+    assertThat(success.count()).isEqualTo(1);
+    assertThat(success.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2);
+    Timer failure =
+        registry.get("loggable.method").tag("exception", "IllegalStateException").timer();
+    assertThat(failure.count()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,177 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import gov.va.api.health.autoconfig.logging.MethodExecutionLogger.LoggableMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.SneakyThrows;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+
+public class MethodExecutionLoggerTest {
+
+  private static MethodExecutionLogger logger() {
+    return new MethodExecutionLogger(
+        new LoggableProperties(),
+        new ArgumentRenderer(new LoggableProperties()),
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  private static <T> T proxy(T target, MethodExecutionLogger logger) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.setProxyTargetClass(true);
+    factory.addAspect(LoggableAspect.bind(logger));
+    return factory.getProxy();
+  }
+
+  @Test
+  @SneakyThrows
+  public void loggableMethodIsResolvedOnce() {
+    MethodExecutionLogger logger = logger();
+    Method quiet = Sample.class.getDeclaredMethod("quiet");
+    LoggableMethod first = logger.loggableMethod(quiet);
+    assertThat(logger.loggableMethod(quiet)).isSameAs(first);
+    assertThat(first.method()).isEqualTo(quiet);
+    assertThat(first.annotation().arguments()).isFalse();
+    assertThat(first.log().getName()).isEqualTo(Sample.class.getName());
+  }
+
+  @Test
+  public void loggingChainIsPropagatedToTasks() {
+    MethodExecutionLogger logger = logger();
+    LoggableTaskDecorator decorator = new LoggableTaskDecorator(logger);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      Sample sample = proxy(new Sample(logger, decorator.executor(pool)), logger);
+      String[] ids = sample.fanOut();
+      assertThat(ids[0]).isNotNull().isEqualTo(ids[1]);
+      assertThat(logger.currentId()).isNull();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void taskTimingsAreIncludedInTheTimingSummary() {
+    MethodExecutionLogger logger = logger();
+    LoggableTaskDecorator decorator = new LoggableTaskDecorator(logger);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    Logger log = (Logger) LoggerFactory.getLogger(Sample.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    log.addAppender(appender);
+    try {
+      Sample sample = proxy(new Sample(logger, decorator.executor(pool)), logger);
+      sample.delegate(proxy(new Sample(), logger));
+      assertThat(appender.list)
+          .extracting(ILoggingEvent::getFormattedMessage)
+          .filteredOn(message -> message.startsWith("LEAVE"))
+          .hasSize(2)
+          .last()
+          .satisfies(
+              message ->
+                  assertThat(message).contains(" 1 delegate ").containsPattern("\\[work [0-9.]+]"));
+    } finally {
+      log.detachAppender(appender);
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void tasksAreUnchangedWithoutLoggingChain() {
+    Runnable task = () -> {};
+    assertThat(logger().propagate(task)).isSameAs(task);
+  }
+
+  @Test
+  @SneakyThrows
+  public void warmResolvesAdvisedMethods() {
+    MethodExecutionLogger logger = logger();
+    logger.warm(Sample.class);
+    Method get = Sample.class.getDeclaredMethod("get");
+    assertThat(logger.isResolved(get)).isTrue();
+    assertThat(logger.isResolved(Sample.class.getDeclaredMethod("quiet"))).isFalse();
+    LoggableMethod warmed = logger.loggableMethod(get);
+    assertThat(warmed.method()).isEqualTo(get);
+    assertThat(warmed.annotation()).isNull();
+  }
+
+  @Test
+  public void warmOnlyRegistersTimersForAdvisableMethods() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MethodExecutionLogger logger =
+        new MethodExecutionLogger(
+            new LoggableProperties(),
+            new ArgumentRenderer(new LoggableProperties()),
+            Optional.empty(),
+            Optional.of(new LoggableMetrics(registry, new LoggableProperties())));
+    logger.warm(LoggableSample.class);
+    assertThat(
+            registry
+                .find("loggable.method")
+                .timers()
+                .stream()
+                .map(timer -> timer.getId().getTag("method")))
+        .containsExactly("advised");
+  }
+
+  @Loggable
+  static class LoggableSample {
+    static void staticMethod() {}
+
+    public void advised() {}
+
+    @SuppressWarnings("unused")
+    private void privateMethod() {}
+  }
+
+  static class Sample {
+    private final MethodExecutionLogger logger;
+    private final Executor executor;
+
+    Sample() {
+      this(null, null);
+    }
+
+    Sample(MethodExecutionLogger logger, Executor executor) {
+      this.logger = logger;
+      this.executor = executor;
+    }
+
+    /** Run the other sample's work on the executor. */
+    @Loggable
+    public void delegate(Sample other) {
+      CompletableFuture.runAsync(other::work, executor).join();
+    }
+
+    @Loggable
+    public String[] fanOut() {
+      return new String[] {
+        logger.currentId(), CompletableFuture.supplyAsync(logger::currentId, executor).join()
+      };
+    }
+
+    @GetMapping
+    public String get() {
+      return "get";
+    }
+
+    @Loggable(arguments = false)
+    void quiet() {}
+
+    @Loggable
+    public void work() {}
+  }
+}
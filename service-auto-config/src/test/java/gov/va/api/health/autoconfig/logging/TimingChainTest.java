@@ -0,0 +1,81 @@
+package gov.va.api.health.autoconfig.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import lombok.SneakyThrows;
+import org.junit.Test;
+
+public class TimingChainTest {
+
+  @SneakyThrows
+  private static Method method(String name) {
+    return TimingChainTest.class.getDeclaredMethod(name);
+  }
+
+  @Test
+  public void millisHaveMicrosecondPrecision() {
+    assertThat(TimingChain.millis(0)).isEqualTo("0.000");
+    assertThat(TimingChain.millis(1_500)).isEqualTo("0.001");
+    assertThat(TimingChain.millis(12_034_999)).isEqualTo("12.034");
+    assertThat(TimingChain.millis(-5)).isEqualTo("0.000");
+  }
+
+  @Test
+  public void mergedTimingsFollowExistingTimings() {
+    TimingChain child = new TimingChain();
+    for (int i = 0; i < TimingChain.CAPACITY + 1; i++) {
+      child.record(method("resetForgetsTimings"), 0, 1_000);
+    }
+    TimingChain parent = new TimingChain();
+    parent.record(method("millisHaveMicrosecondPrecision"), 0, 2_000_000);
+    parent.merge(child);
+    parent.record(method("mergedTimingsFollowExistingTimings"), 0, 5_000_000);
+    assertThat(parent.dropped()).isEqualTo(3);
+    assertThat(parent.summary(1)).startsWith("[resetForgetsTimings 0.001,").endsWith(",+3]");
+  }
+
+  @Test
+  public void oldestTimingsAreDroppedWhenCapacityIsExceeded() {
+    TimingChain chain = new TimingChain();
+    for (int i = 0; i < TimingChain.CAPACITY + 3; i++) {
+      chain.record(method("millisHaveMicrosecondPrecision"), 0, 1_000_000);
+    }
+    assertThat(chain.size()).isEqualTo(TimingChain.CAPACITY);
+    assertThat(chain.dropped()).isEqualTo(3);
+    assertThat(chain.summary(1)).endsWith("millisHaveMicrosecondPrecision 1.000,+3]");
+  }
+
+  @Test
+  public void resetForgetsTimings() {
+    TimingChain chain = new TimingChain();
+    chain.record(method("resetForgetsTimings"), 0, 1);
+    chain.reset();
+    assertThat(chain.size()).isZero();
+    assertThat(chain.summary(0)).isEmpty();
+  }
+
+  @Test
+  public void snapshotIsUnchangedByReset() {
+    TimingChain chain = new TimingChain();
+    for (int i = 0; i < TimingChain.CAPACITY + 2; i++) {
+      chain.record(method("snapshotIsUnchangedByReset"), 0, 1_000);
+    }
+    String summary = chain.summary(1);
+    TimingChain snapshot = chain.snapshot();
+    chain.reset();
+    assertThat(snapshot.size()).isEqualTo(TimingChain.CAPACITY);
+    assertThat(snapshot.summary(1)).isEqualTo(summary);
+  }
+
+  @Test
+  public void summaryExcludesMostRecentTimings() {
+    TimingChain chain = new TimingChain();
+    chain.record(method("resetForgetsTimings"), 100, 2_000_100);
+    chain.record(method("summaryExcludesMostRecentTimings"), 0, 250_000);
+    chain.record(method("millisHaveMicrosecondPrecision"), 0, 3_000_000);
+    assertThat(chain.summary(1))
+        .isEqualTo("[resetForgetsTimings 2.000,summaryExcludesMostRecentTimings 0.250]");
+    assertThat(chain.summary(3)).isEmpty();
+  }
+}